@@ -0,0 +1,12 @@
+package io.github.xitssky.minio.benchmark;
+
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+/**
+ * The application started by the benchmarks, configured only by the auto configuration of the starter
+ *
+ * @author quentin
+ */
+@SpringBootApplication
+public class BenchmarkApplication {
+}
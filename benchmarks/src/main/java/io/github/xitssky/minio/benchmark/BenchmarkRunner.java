@@ -0,0 +1,42 @@
+package io.github.xitssky.minio.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Run the benchmarks once per concurrency level, writing the results of each level as JSON. The levels are given by
+ * the {@code minio.benchmark.threads} system property (1,8,32 by default) and the results are written in the
+ * directory given by the {@code minio.benchmark.results} system property (target/jmh by default). The other
+ * arguments are passed to JMH, e.g. a benchmark regular expression or {@code -p objectSize=1024}.
+ *
+ * @author quentin
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException, IOException {
+        final int[] levels = Arrays.stream(System.getProperty("minio.benchmark.threads", "1,8,32").split(","))
+                .map(String::trim)
+                .mapToInt(Integer::parseInt)
+                .toArray();
+        final Path results = Files.createDirectories(Path.of(System.getProperty("minio.benchmark.results", "target/jmh")));
+        final CommandLineOptions commandLine = new CommandLineOptions(args);
+
+        for (int threads : levels) {
+            new Runner(new OptionsBuilder()
+                    .parent(commandLine)
+                    .threads(threads)
+                    .resultFormat(ResultFormatType.JSON)
+                    .result(results.resolve("minio-threads-" + threads + ".json").toString())
+                    .build()).run();
+        }
+    }
+}
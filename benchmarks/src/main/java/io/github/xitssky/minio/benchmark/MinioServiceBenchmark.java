@@ -0,0 +1,138 @@
+package io.github.xitssky.minio.benchmark;
+
+import io.github.xitssky.minio.service.MinioService;
+import io.minio.StatObjectResponse;
+import io.minio.messages.Bucket;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+/**
+ * The benchmarks of the hot paths of {@link MinioService}, against a {@link S3StandInServer} so that only the starter
+ * and its HTTP client are measured. The caches are disabled, so that every operation sends its request. The concurrency
+ * level is the number of JMH threads, see {@link BenchmarkRunner}.
+ *
+ * @author quentin
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class MinioServiceBenchmark {
+    private static final String BUCKET = "benchmark";
+    private static final String OBJECT = "object";
+    private static final int BULK_SIZE = 1000;
+
+    /**
+     * The size of the uploaded and downloaded objects
+     */
+    @Param({"1024", "1048576", "33554432"})
+    public int objectSize;
+
+    private S3StandInServer server;
+    private ConfigurableApplicationContext context;
+    private MinioService service;
+    private byte[] content;
+    private Path source;
+    private Path directory;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        this.server = new S3StandInServer();
+        this.context = new SpringApplicationBuilder(BenchmarkApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.minio.url=" + this.server.getUrl(),
+                        "spring.minio.access-key=benchmark",
+                        "spring.minio.secret-key=benchmark",
+                        "spring.minio.buckets[0].name=" + BUCKET,
+                        "spring.minio.cache.bucket.enabled=false",
+                        "spring.minio.cache.metadata.enabled=false",
+                        "logging.level.root=WARN")
+                .run();
+        this.service = this.context.getBean(MinioService.class);
+
+        this.content = new byte[this.objectSize];
+        ThreadLocalRandom.current().nextBytes(this.content);
+        this.directory = Files.createTempDirectory("minio-benchmark");
+        this.source = Files.write(this.directory.resolve("source"), this.content);
+        this.service.upload(this.content, OBJECT, BUCKET);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        this.context.close();
+        this.server.close();
+        try (var paths = Files.walk(this.directory)) {
+            paths.sorted((a, b) -> b.compareTo(a)).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public void uploadBytes(ThreadName thread) {
+        this.service.upload(this.content, thread.name, BUCKET);
+    }
+
+    @Benchmark
+    public void uploadFile(ThreadName thread) {
+        this.service.upload(this.source.toFile(), thread.name, BUCKET);
+    }
+
+    @Benchmark
+    public long downloadStream() throws IOException {
+        try (final InputStream stream = this.service.download(OBJECT, BUCKET)) {
+            return stream.transferTo(OutputStreams.DISCARD);
+        }
+    }
+
+    @Benchmark
+    public File downloadFile(ThreadName thread) {
+        return this.service.download(this.directory.resolve(thread.name).toString(), OBJECT, BUCKET);
+    }
+
+    @Benchmark
+    public StatObjectResponse getFileInformation() {
+        return this.service.getFileInformation(OBJECT, BUCKET);
+    }
+
+    @Benchmark
+    public Bucket findBucket() {
+        return this.service.findBucket(BUCKET);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BULK_SIZE)
+    public void removeAll(ThreadName thread, Blackhole blackhole) {
+        final String prefix = thread.name;
+        final List<String> filenames = IntStream.range(0, BULK_SIZE)
+                .mapToObj(index -> prefix + "/" + index)
+                .toList();
+        blackhole.consume(this.service.removeAll(filenames, BUCKET));
+    }
+
+    /**
+     * The object and file name of a benchmark thread, overwritten by each invocation so that the stored objects and the
+     * downloaded files do not grow with the measurement time
+     */
+    @State(Scope.Thread)
+    public static class ThreadName {
+        private static final AtomicLong COUNTER = new AtomicLong();
+
+        private final String name = "uploaded-" + COUNTER.incrementAndGet();
+    }
+}
@@ -0,0 +1,18 @@
+package io.github.xitssky.minio.benchmark;
+
+import java.io.OutputStream;
+
+/**
+ * The output streams used by the benchmarks
+ *
+ * @author quentin
+ */
+final class OutputStreams {
+    /**
+     * An {@link OutputStream} discarding the written bytes
+     */
+    static final OutputStream DISCARD = OutputStream.nullOutputStream();
+
+    private OutputStreams() {
+    }
+}
@@ -0,0 +1,424 @@
+package io.github.xitssky.minio.benchmark;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * An in-memory stand-in of an S3 compatible server, bound to the loopback interface. It implements only the requests
+ * sent by the starter (buckets, objects, ranges, multipart uploads, multi-object deletes, listings and health checks),
+ * without any signature check, so that the benchmarks measure the client side without any external network.
+ *
+ * @author quentin
+ */
+@Slf4j
+public class S3StandInServer implements AutoCloseable {
+    private static final String HEALTH_PATH = "/minio/health/live";
+    private static final String NAMESPACE = "http://s3.amazonaws.com/doc/2006-03-01/";
+    private static final DateTimeFormatter ISO_DATE = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'").withZone(ZoneOffset.UTC);
+    private static final Pattern RANGE = Pattern.compile("bytes=(\\d+)-(\\d*)");
+    private static final Pattern KEY = Pattern.compile("<Key>(.*?)</Key>");
+    private static final Pattern PART = Pattern.compile("<PartNumber>(\\d+)</PartNumber>");
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Map<String, Instant> buckets = new ConcurrentHashMap<>();
+    private final Map<String, ConcurrentSkipListMap<String, StoredObject>> objects = new ConcurrentHashMap<>();
+    private final Map<String, ConcurrentSkipListMap<Integer, byte[]>> uploads = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor, starting the server on an ephemeral port
+     *
+     * @throws IOException if the server cannot be started
+     */
+    public S3StandInServer() throws IOException {
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            final Thread thread = new Thread(runnable, "s3-stand-in");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1024);
+        this.server.createContext("/", this::handle);
+        this.server.setExecutor(this.executor);
+        this.server.start();
+    }
+
+    /**
+     * Get the url of the server
+     *
+     * @return the url
+     */
+    public String getUrl() {
+        return "http://" + this.server.getAddress().getHostString() + ":" + this.server.getAddress().getPort();
+    }
+
+    /**
+     * Stop the server
+     */
+    @Override
+    public void close() {
+        this.server.stop(0);
+        this.executor.shutdownNow();
+    }
+
+    /**
+     * Dispatch a request
+     *
+     * @param exchange: the {@link HttpExchange}
+     * @throws IOException if the response cannot be sent
+     */
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            final String path = exchange.getRequestURI().getPath();
+            final Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+            final byte[] body = exchange.getRequestBody().readAllBytes();
+
+            final int separator = path.indexOf('/', 1);
+            final String bucket = separator < 0 ? path.substring(1) : path.substring(1, separator);
+            final String key = separator < 0 ? "" : path.substring(separator + 1);
+
+            if (HEALTH_PATH.equals(path)) {
+                this.send(exchange, 200, null);
+            } else if (bucket.isEmpty()) {
+                this.listBuckets(exchange);
+            } else if (key.isEmpty()) {
+                this.handleBucket(exchange, bucket, query, body);
+            } else if (!this.buckets.containsKey(bucket)) {
+                this.sendError(exchange, 404, "NoSuchBucket", bucket, key);
+            } else {
+                this.handleObject(exchange, bucket, key, query, body);
+            }
+        } catch (RuntimeException ex) {
+            log.error("Fail to handle {} {}", exchange.getRequestMethod(), exchange.getRequestURI(), ex);
+            this.sendError(exchange, 500, "InternalError", "", "");
+        }
+    }
+
+    /**
+     * Handle a request on a bucket
+     *
+     * @param exchange: the {@link HttpExchange}
+     * @param bucket:   the name of the bucket
+     * @param query:    the query parameters
+     * @param body:     the request body
+     * @throws IOException if the response cannot be sent
+     */
+    private void handleBucket(HttpExchange exchange, String bucket, Map<String, String> query, byte[] body) throws IOException {
+        final String method = exchange.getRequestMethod();
+        if ("PUT".equals(method)) {
+            this.buckets.putIfAbsent(bucket, Instant.now());
+            this.objects.putIfAbsent(bucket, new ConcurrentSkipListMap<>());
+            this.send(exchange, 200, null);
+        } else if (!this.buckets.containsKey(bucket)) {
+            this.sendError(exchange, 404, "NoSuchBucket", bucket, "");
+        } else if ("HEAD".equals(method)) {
+            this.send(exchange, 200, null);
+        } else if ("DELETE".equals(method)) {
+            this.buckets.remove(bucket);
+            this.objects.remove(bucket);
+            exchange.sendResponseHeaders(204, -1);
+        } else if ("GET".equals(method) && query.containsKey("location")) {
+            this.send(exchange, 200, "<LocationConstraint xmlns=\"" + NAMESPACE + "\"></LocationConstraint>");
+        } else if ("GET".equals(method)) {
+            this.listObjects(exchange, bucket, query);
+        } else if ("POST".equals(method) && query.containsKey("delete")) {
+            final Matcher matcher = KEY.matcher(new String(body, StandardCharsets.UTF_8));
+            while (matcher.find()) {
+                this.objects.get(bucket).remove(unescape(matcher.group(1)));
+            }
+            this.send(exchange, 200, "<DeleteResult xmlns=\"" + NAMESPACE + "\"></DeleteResult>");
+        } else {
+            this.sendError(exchange, 501, "NotImplemented", bucket, "");
+        }
+    }
+
+    /**
+     * Handle a request on an object
+     *
+     * @param exchange: the {@link HttpExchange}
+     * @param bucket:   the name of the bucket
+     * @param key:      the key of the object
+     * @param query:    the query parameters
+     * @param body:     the request body
+     * @throws IOException if the response cannot be sent
+     */
+    private void handleObject(HttpExchange exchange, String bucket, String key, Map<String, String> query, byte[] body) throws IOException {
+        final String method = exchange.getRequestMethod();
+        final String uploadId = query.get("uploadId");
+
+        if ("POST".equals(method) && query.containsKey("uploads")) {
+            final String id = UUID.randomUUID().toString();
+            this.uploads.put(id, new ConcurrentSkipListMap<>());
+            this.send(exchange, 200, "<InitiateMultipartUploadResult xmlns=\"" + NAMESPACE + "\"><Bucket>" + escape(bucket)
+                    + "</Bucket><Key>" + escape(key) + "</Key><UploadId>" + id + "</UploadId></InitiateMultipartUploadResult>");
+        } else if ("PUT".equals(method) && uploadId != null) {
+            final ConcurrentSkipListMap<Integer, byte[]> parts = this.uploads.get(uploadId);
+            if (parts == null) {
+                this.sendError(exchange, 404, "NoSuchUpload", bucket, key);
+                return;
+            }
+            parts.put(Integer.parseInt(query.get("partNumber")), body);
+            exchange.getResponseHeaders().set("ETag", "\"" + md5(body) + "\"");
+            this.send(exchange, 200, null);
+        } else if ("POST".equals(method) && uploadId != null) {
+            final ConcurrentSkipListMap<Integer, byte[]> parts = this.uploads.remove(uploadId);
+            if (parts == null) {
+                this.sendError(exchange, 404, "NoSuchUpload", bucket, key);
+                return;
+            }
+            final ByteArrayOutputStream content = new ByteArrayOutputStream();
+            final Matcher matcher = PART.matcher(new String(body, StandardCharsets.UTF_8));
+            int count = 0;
+            while (matcher.find()) {
+                content.writeBytes(parts.get(Integer.parseInt(matcher.group(1))));
+                count++;
+            }
+            final String etag = md5(content.toByteArray()) + "-" + count;
+            this.objects.get(bucket).put(key, new StoredObject(content.toByteArray(), etag, Instant.now()));
+            this.send(exchange, 200, "<CompleteMultipartUploadResult xmlns=\"" + NAMESPACE + "\"><Location>" + this.getUrl() + "/"
+                    + escape(bucket) + "/" + escape(key) + "</Location><Bucket>" + escape(bucket) + "</Bucket><Key>" + escape(key)
+                    + "</Key><ETag>\"" + etag + "\"</ETag></CompleteMultipartUploadResult>");
+        } else if ("DELETE".equals(method) && uploadId != null) {
+            this.uploads.remove(uploadId);
+            exchange.sendResponseHeaders(204, -1);
+        } else if ("PUT".equals(method)) {
+            final StoredObject object = new StoredObject(body, md5(body), Instant.now());
+            this.objects.get(bucket).put(key, object);
+            exchange.getResponseHeaders().set("ETag", "\"" + object.etag() + "\"");
+            this.send(exchange, 200, null);
+        } else if ("DELETE".equals(method)) {
+            this.objects.get(bucket).remove(key);
+            exchange.sendResponseHeaders(204, -1);
+        } else if ("GET".equals(method) || "HEAD".equals(method)) {
+            final StoredObject object = this.objects.get(bucket).get(key);
+            if (object == null) {
+                this.sendError(exchange, 404, "NoSuchKey", bucket, key);
+                return;
+            }
+            this.sendObject(exchange, object, "HEAD".equals(method));
+        } else {
+            this.sendError(exchange, 501, "NotImplemented", bucket, key);
+        }
+    }
+
+    /**
+     * Send an object or a range of it
+     *
+     * @param exchange: the {@link HttpExchange}
+     * @param object:   the {@link StoredObject}
+     * @param head:     whether only the headers are sent
+     * @throws IOException if the response cannot be sent
+     */
+    private void sendObject(HttpExchange exchange, StoredObject object, boolean head) throws IOException {
+        int start = 0;
+        int end = object.content().length - 1;
+        int status = 200;
+
+        final String range = exchange.getRequestHeaders().getFirst("Range");
+        final Matcher matcher = range != null ? RANGE.matcher(range) : null;
+        if (matcher != null && matcher.matches()) {
+            start = Integer.parseInt(matcher.group(1));
+            if (!matcher.group(2).isEmpty()) {
+                end = Math.min(end, Integer.parseInt(matcher.group(2)));
+            }
+            status = 206;
+            exchange.getResponseHeaders().set("Content-Range", "bytes " + start + "-" + end + "/" + object.content().length);
+        }
+
+        final int length = Math.max(end - start + 1, 0);
+        exchange.getResponseHeaders().set("ETag", "\"" + object.etag() + "\"");
+        exchange.getResponseHeaders().set("Last-Modified", DateTimeFormatter.RFC_1123_DATE_TIME.format(object.lastModified().atZone(ZoneOffset.UTC)));
+        exchange.getResponseHeaders().set("Content-Type", "application/octet-stream");
+        exchange.getResponseHeaders().set("Accept-Ranges", "bytes");
+
+        if (head) {
+            exchange.getResponseHeaders().set("Content-Length", String.valueOf(length));
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        exchange.sendResponseHeaders(status, length == 0 ? -1 : length);
+        try (final OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(object.content(), start, length);
+        }
+    }
+
+    /**
+     * Send the list of the buckets
+     *
+     * @param exchange: the {@link HttpExchange}
+     * @throws IOException if the response cannot be sent
+     */
+    private void listBuckets(HttpExchange exchange) throws IOException {
+        final StringBuilder xml = new StringBuilder("<ListAllMyBucketsResult xmlns=\"" + NAMESPACE + "\"><Owner><ID>stand-in</ID>"
+                + "<DisplayName>stand-in</DisplayName></Owner><Buckets>");
+        this.buckets.forEach((name, creation) -> xml.append("<Bucket><Name>").append(escape(name)).append("</Name><CreationDate>")
+                .append(ISO_DATE.format(creation)).append("</CreationDate></Bucket>"));
+        this.send(exchange, 200, xml.append("</Buckets></ListAllMyBucketsResult>").toString());
+    }
+
+    /**
+     * Send a page of a ListObjectsV2 listing, without delimiter support
+     *
+     * @param exchange: the {@link HttpExchange}
+     * @param bucket:   the name of the bucket
+     * @param query:    the query parameters
+     * @throws IOException if the response cannot be sent
+     */
+    private void listObjects(HttpExchange exchange, String bucket, Map<String, String> query) throws IOException {
+        final String prefix = query.getOrDefault("prefix", "");
+        final int maxKeys = Integer.parseInt(query.getOrDefault("max-keys", "1000"));
+        final String after = query.getOrDefault("continuation-token", query.getOrDefault("start-after", ""));
+
+        final StringBuilder contents = new StringBuilder();
+        String last = null;
+        int count = 0;
+        boolean truncated = false;
+        for (Map.Entry<String, StoredObject> entry : this.objects.get(bucket).tailMap(after, false).entrySet()) {
+            if (!entry.getKey().startsWith(prefix)) {
+                continue;
+            }
+            if (count == maxKeys) {
+                truncated = true;
+                break;
+            }
+            contents.append("<Contents><Key>").append(escape(entry.getKey())).append("</Key><LastModified>")
+                    .append(ISO_DATE.format(entry.getValue().lastModified())).append("</LastModified><ETag>\"")
+                    .append(entry.getValue().etag()).append("\"</ETag><Size>").append(entry.getValue().content().length)
+                    .append("</Size><StorageClass>STANDARD</StorageClass></Contents>");
+            last = entry.getKey();
+            count++;
+        }
+
+        this.send(exchange, 200, "<ListBucketResult xmlns=\"" + NAMESPACE + "\"><Name>" + escape(bucket) + "</Name><Prefix>"
+                + escape(prefix) + "</Prefix><KeyCount>" + count + "</KeyCount><MaxKeys>" + maxKeys + "</MaxKeys><IsTruncated>"
+                + truncated + "</IsTruncated>" + (truncated ? "<NextContinuationToken>" + escape(last) + "</NextContinuationToken>" : "")
+                + contents + "</ListBucketResult>");
+    }
+
+    /**
+     * Send an S3 error
+     *
+     * @param exchange: the {@link HttpExchange}
+     * @param status:   the HTTP status
+     * @param code:     the S3 error code
+     * @param bucket:   the name of the bucket
+     * @param key:      the key of the object
+     * @throws IOException if the response cannot be sent
+     */
+    private void sendError(HttpExchange exchange, int status, String code, String bucket, String key) throws IOException {
+        if ("HEAD".equals(exchange.getRequestMethod())) {
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        this.send(exchange, status, "<Error><Code>" + code + "</Code><Message>" + code + "</Message><Resource>/" + escape(bucket)
+                + "/" + escape(key) + "</Resource><RequestId>stand-in</RequestId><HostId>stand-in</HostId><BucketName>"
+                + escape(bucket) + "</BucketName><Key>" + escape(key) + "</Key></Error>");
+    }
+
+    /**
+     * Send a response
+     *
+     * @param exchange: the {@link HttpExchange}
+     * @param status:   the HTTP status
+     * @param xml:      the XML body, null for an empty body
+     * @throws IOException if the response cannot be sent
+     */
+    private void send(HttpExchange exchange, int status, String xml) throws IOException {
+        if (xml == null || "HEAD".equals(exchange.getRequestMethod())) {
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        final byte[] content = ("<?xml version=\"1.0\" encoding=\"UTF-8\"?>" + xml).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/xml");
+        exchange.sendResponseHeaders(status, content.length);
+        try (final OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(content);
+        }
+    }
+
+    /**
+     * Parse a raw query string
+     *
+     * @param query: the raw query, null if there is none
+     * @return the parameters by name
+     */
+    private static Map<String, String> parseQuery(String query) {
+        final Map<String, String> parameters = new HashMap<>();
+        if (query != null) {
+            for (String parameter : query.split("&")) {
+                final int equal = parameter.indexOf('=');
+                final String name = equal < 0 ? parameter : parameter.substring(0, equal);
+                final String value = equal < 0 ? "" : parameter.substring(equal + 1);
+                parameters.put(URLDecoder.decode(name, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+            }
+        }
+        return parameters;
+    }
+
+    /**
+     * Get the MD5 digest of a content
+     *
+     * @param content: the content
+     * @return the digest as hexadecimal
+     */
+    private static String md5(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("MD5").digest(content));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Escape a value for XML
+     *
+     * @param value: the value
+     * @return the escaped value
+     */
+    private static String escape(String value) {
+        return value.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+
+    /**
+     * Unescape an XML value
+     *
+     * @param value: the escaped value
+     * @return the value
+     */
+    private static String unescape(String value) {
+        return value.replace("&lt;", "<").replace("&gt;", ">").replace("&amp;", "&");
+    }
+
+    /**
+     * A stored object
+     *
+     * @param content:      the content of the object
+     * @param etag:         the ETag of the object, without quotes
+     * @param lastModified: the last modification time of the object
+     */
+    private record StoredObject(byte[] content, String etag, Instant lastModified) {
+    }
+}
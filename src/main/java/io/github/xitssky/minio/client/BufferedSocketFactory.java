@@ -0,0 +1,86 @@
+package io.github.xitssky.minio.client;
+
+import javax.net.SocketFactory;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.net.SocketException;
+
+/**
+ * A {@link SocketFactory} creating sockets with the configured buffer sizes
+ *
+ * @author quentin
+ */
+public class BufferedSocketFactory extends SocketFactory {
+    private final SocketFactory delegate = SocketFactory.getDefault();
+    private final Integer sendBufferSize;
+    private final Integer receiveBufferSize;
+
+    /**
+     * Constructor
+     *
+     * @param sendBufferSize:    the send buffer size, null for the system default
+     * @param receiveBufferSize: the receive buffer size, null for the system default
+     */
+    public BufferedSocketFactory(Integer sendBufferSize, Integer receiveBufferSize) {
+        this.sendBufferSize = sendBufferSize;
+        this.receiveBufferSize = receiveBufferSize;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Socket createSocket() throws IOException {
+        return this.configure(this.delegate.createSocket());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Socket createSocket(String host, int port) throws IOException {
+        return this.configure(this.delegate.createSocket(host, port));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Socket createSocket(String host, int port, InetAddress localHost, int localPort) throws IOException {
+        return this.configure(this.delegate.createSocket(host, port, localHost, localPort));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Socket createSocket(InetAddress host, int port) throws IOException {
+        return this.configure(this.delegate.createSocket(host, port));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Socket createSocket(InetAddress address, int port, InetAddress localAddress, int localPort) throws IOException {
+        return this.configure(this.delegate.createSocket(address, port, localAddress, localPort));
+    }
+
+    /**
+     * Apply the buffer sizes to a socket, before it connects so that the TCP window is negotiated accordingly
+     *
+     * @param socket: the {@link Socket} to configure
+     * @return the configured {@link Socket}
+     * @throws SocketException if the buffer sizes cannot be set
+     */
+    private Socket configure(Socket socket) throws SocketException {
+        if (this.sendBufferSize != null) {
+            socket.setSendBufferSize(this.sendBufferSize);
+        }
+        if (this.receiveBufferSize != null) {
+            socket.setReceiveBufferSize(this.receiveBufferSize);
+        }
+        return socket;
+    }
+}
@@ -0,0 +1,305 @@
+package io.github.xitssky.minio.client;
+
+import io.github.xitssky.minio.configuration.properties.MinioBalancing;
+import io.github.xitssky.minio.exception.InvalidMinioConfigurationException;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.BufferedSource;
+import okio.ForwardingSource;
+import okio.Okio;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The {@link Interceptor} balancing the requests of the shared HTTP client across the Minio nodes. Only the url of a
+ * request is rewritten, its Host header is left to the Minio url so that the signature stays valid on every node. An
+ * endpoint is ejected after consecutive connection failures or a failed health check, and readmitted by the next
+ * successful health check. The idempotent requests failing to connect are sent again to another endpoint.
+ *
+ * @author quentin
+ */
+@Slf4j
+public class MinioEndpointBalancer implements Interceptor, AutoCloseable {
+    private static final Set<String> IDEMPOTENT_METHODS = Set.of("GET", "HEAD", "DELETE");
+    private static final String LEAST_OUTSTANDING = "LEAST_OUTSTANDING";
+    private static final String POWER_OF_TWO_CHOICES = "POWER_OF_TWO_CHOICES";
+
+    private final List<Endpoint> endpoints;
+    private final MinioBalancing configuration;
+    private final boolean powerOfTwoChoices;
+    private ScheduledExecutorService healthChecker;
+
+    /**
+     * Constructor
+     *
+     * @param urls:          the urls of the Minio nodes
+     * @param configuration: the {@link MinioBalancing} configuration
+     * @throws InvalidMinioConfigurationException if an url or the strategy is invalid
+     */
+    public MinioEndpointBalancer(List<String> urls, MinioBalancing configuration) throws InvalidMinioConfigurationException {
+        this.configuration = configuration;
+        this.endpoints = new ArrayList<>();
+        for (String url : urls) {
+            final HttpUrl httpUrl = HttpUrl.parse(url);
+            if (httpUrl == null) {
+                throw new InvalidMinioConfigurationException("endpoints", "valid urls (ex: http://minio-1:9000)");
+            }
+            this.endpoints.add(new Endpoint(httpUrl));
+        }
+
+        switch (configuration.getStrategy()) {
+            case LEAST_OUTSTANDING -> this.powerOfTwoChoices = false;
+            case POWER_OF_TWO_CHOICES -> this.powerOfTwoChoices = true;
+            default -> throw new InvalidMinioConfigurationException("balancing.strategy", "LEAST_OUTSTANDING | POWER_OF_TWO_CHOICES");
+        }
+    }
+
+    /**
+     * Start the periodic health checks of the endpoints
+     *
+     * @param httpClient: the {@link OkHttpClient} this balancer is installed on
+     */
+    public synchronized void start(OkHttpClient httpClient) {
+        if (this.healthChecker != null) {
+            return;
+        }
+
+        // Check each node directly, without going through the balancing
+        final OkHttpClient.Builder builder = httpClient.newBuilder();
+        builder.interceptors().remove(this);
+        final OkHttpClient checkClient = builder.build();
+
+        this.healthChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "minio-health-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        final long interval = this.configuration.getHealthCheckInterval().toMillis();
+        this.healthChecker.scheduleWithFixedDelay(() -> this.checkHealth(checkClient), interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stop the health checks
+     */
+    @Override
+    public synchronized void close() {
+        if (this.healthChecker != null) {
+            this.healthChecker.shutdownNow();
+            this.healthChecker = null;
+        }
+    }
+
+    /**
+     * Get the number of endpoints currently receiving requests
+     *
+     * @return the number of healthy endpoints
+     */
+    public int getHealthyEndpointCount() {
+        return (int) this.endpoints.stream().filter(Endpoint::isHealthy).count();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        final Request request = chain.request();
+        final boolean idempotent = IDEMPOTENT_METHODS.contains(request.method());
+        final List<Endpoint> tried = new ArrayList<>();
+
+        while (true) {
+            final Endpoint endpoint = this.choose(tried);
+            tried.add(endpoint);
+
+            endpoint.outstanding.incrementAndGet();
+            final Response response;
+            try {
+                response = chain.proceed(request.newBuilder()
+                        .url(endpoint.rewrite(request.url()))
+                        .build());
+            } catch (IOException ex) {
+                endpoint.outstanding.decrementAndGet();
+                this.fail(endpoint);
+                if (!idempotent || chain.call().isCanceled() || tried.size() >= this.endpoints.size()) {
+                    throw ex;
+                }
+                log.debug("Failing over a {} request from {}", request.method(), endpoint.url, ex);
+                continue;
+            } catch (RuntimeException ex) {
+                endpoint.outstanding.decrementAndGet();
+                throw ex;
+            }
+
+            endpoint.consecutiveFailures.set(0);
+            return this.releaseOnClose(response, endpoint);
+        }
+    }
+
+    /**
+     * Keep a request outstanding on its endpoint until its response body is closed, as streaming the body of a large
+     * download takes much longer than receiving its headers
+     *
+     * @param response: the {@link Response} of the request
+     * @param endpoint: the {@link Endpoint} of the request
+     * @return the {@link Response} releasing the endpoint once closed
+     */
+    private Response releaseOnClose(Response response, Endpoint endpoint) {
+        final ResponseBody body = response.body();
+        if (body == null) {
+            endpoint.outstanding.decrementAndGet();
+            return response;
+        }
+
+        final AtomicBoolean released = new AtomicBoolean();
+        final BufferedSource source = Okio.buffer(new ForwardingSource(body.source()) {
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    if (released.compareAndSet(false, true)) {
+                        endpoint.outstanding.decrementAndGet();
+                    }
+                }
+            }
+        });
+        return response.newBuilder()
+                .body(ResponseBody.create(source, body.contentType(), body.contentLength()))
+                .build();
+    }
+
+    /**
+     * Choose the endpoint of a request among the healthy ones, or among all of them if none is healthy
+     *
+     * @param excluded: the endpoints already tried by the request
+     * @return the {@link Endpoint}
+     */
+    private Endpoint choose(List<Endpoint> excluded) {
+        List<Endpoint> candidates = this.endpoints.stream()
+                .filter(endpoint -> endpoint.isHealthy() && !excluded.contains(endpoint))
+                .toList();
+        if (candidates.isEmpty()) {
+            candidates = this.endpoints.stream()
+                    .filter(endpoint -> !excluded.contains(endpoint))
+                    .toList();
+        }
+        if (candidates.size() == 1) {
+            return candidates.get(0);
+        }
+
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (this.powerOfTwoChoices) {
+            final int first = random.nextInt(candidates.size());
+            final int second = (first + 1 + random.nextInt(candidates.size() - 1)) % candidates.size();
+            return candidates.get(first).outstanding.get() <= candidates.get(second).outstanding.get() ?
+                    candidates.get(first) :
+                    candidates.get(second);
+        }
+
+        // Start at a random endpoint so that the ties are spread
+        final int start = random.nextInt(candidates.size());
+        Endpoint chosen = candidates.get(start);
+        for (int index = 1; index < candidates.size(); index++) {
+            final Endpoint candidate = candidates.get((start + index) % candidates.size());
+            if (candidate.outstanding.get() < chosen.outstanding.get()) {
+                chosen = candidate;
+            }
+        }
+        return chosen;
+    }
+
+    /**
+     * Count a connection failure of an endpoint, ejecting it once the threshold is reached
+     *
+     * @param endpoint: the failing {@link Endpoint}
+     */
+    private void fail(Endpoint endpoint) {
+        if (endpoint.consecutiveFailures.incrementAndGet() >= this.configuration.getFailureThreshold() && endpoint.healthy) {
+            endpoint.healthy = false;
+            log.warn("Minio endpoint {} ejected after {} consecutive failures", endpoint.url, endpoint.consecutiveFailures.get());
+        }
+    }
+
+    /**
+     * Check the health of every endpoint, ejecting or readmitting them
+     *
+     * @param checkClient: the {@link OkHttpClient} sending the health checks
+     */
+    private void checkHealth(OkHttpClient checkClient) {
+        for (Endpoint endpoint : this.endpoints) {
+            boolean healthy;
+            try (final Response response = checkClient.newCall(new Request.Builder()
+                    .url(endpoint.url.newBuilder().encodedPath(this.configuration.getHealthCheckPath()).build())
+                    .get()
+                    .build()).execute()) {
+                healthy = response.isSuccessful();
+            } catch (IOException | RuntimeException ex) {
+                healthy = false;
+            }
+
+            if (healthy != endpoint.healthy) {
+                log.warn("Minio endpoint {} {}", endpoint.url, healthy ? "readmitted" : "ejected by its health check");
+            }
+            if (healthy) {
+                endpoint.consecutiveFailures.set(0);
+            }
+            endpoint.healthy = healthy;
+        }
+    }
+
+    /**
+     * A Minio node
+     */
+    private static class Endpoint {
+        private final HttpUrl url;
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private final AtomicInteger consecutiveFailures = new AtomicInteger();
+        private volatile boolean healthy = true;
+
+        /**
+         * Constructor
+         *
+         * @param url: the {@link HttpUrl} of the node
+         */
+        Endpoint(HttpUrl url) {
+            this.url = url;
+        }
+
+        /**
+         * Check whether the node receives requests
+         *
+         * @return a {@link Boolean}
+         */
+        boolean isHealthy() {
+            return this.healthy;
+        }
+
+        /**
+         * Rewrite the url of a request to the node
+         *
+         * @param requestUrl: the {@link HttpUrl} of the request
+         * @return the {@link HttpUrl} on the node
+         */
+        HttpUrl rewrite(HttpUrl requestUrl) {
+            return requestUrl.newBuilder()
+                    .scheme(this.url.scheme())
+                    .host(this.url.host())
+                    .port(this.url.port())
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package io.github.xitssky.minio.client;
+
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.Multimap;
+import io.minio.MinioAsyncClient;
+import io.minio.ObjectWriteResponse;
+import io.minio.messages.ListBucketResultV2;
+import io.minio.messages.Part;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A {@link MinioAsyncClient} exposing the low level requests (multipart uploads, paginated listing)
+ *
+ * @author quentin
+ */
+public class MinioExtendedClient extends MinioAsyncClient {
+    private static final String USER_METADATA_PREFIX = "x-amz-meta-";
+    private static final String URL_ENCODING = "url";
+
+    /**
+     * Constructor
+     *
+     * @param client: the configured {@link MinioAsyncClient} to copy
+     */
+    public MinioExtendedClient(MinioAsyncClient client) {
+        super(client);
+    }
+
+    /**
+     * Start a multipart upload
+     *
+     * @param bucket:      the name of the bucket
+     * @param object:      the name of the object
+     * @param metadata:    the optional user metadata of the object
+     * @param contentType: the content type of the object
+     * @return the upload id as a {@link CompletableFuture}
+     * @throws Exception if the request cannot be sent
+     */
+    public CompletableFuture<String> createMultipartUpload(String bucket, String object, Map<String, String> metadata, String contentType) throws Exception {
+        final Multimap<String, String> headers = HashMultimap.create();
+        headers.put("Content-Type", contentType);
+        Optional.ofNullable(metadata).ifPresent(userMetadata -> userMetadata.forEach((key, value) ->
+                headers.put(key.toLowerCase().startsWith(USER_METADATA_PREFIX) ? key : USER_METADATA_PREFIX + key, value)));
+
+        return this.createMultipartUploadAsync(bucket, null, object, headers, null)
+                .thenApply(response -> response.result().uploadId());
+    }
+
+    /**
+     * Upload a part of a multipart upload
+     *
+     * @param bucket:     the name of the bucket
+     * @param object:     the name of the object
+     * @param uploadId:   the id of the multipart upload
+     * @param partNumber: the number of the part, starting at 1
+     * @param data:       the buffer holding the part
+     * @param length:     the number of bytes of the buffer to send
+     * @return the uploaded {@link Part} as a {@link CompletableFuture}
+     * @throws Exception if the request cannot be sent
+     */
+    public CompletableFuture<Part> uploadPart(String bucket, String object, String uploadId, int partNumber, byte[] data, int length) throws Exception {
+        return this.uploadPartAsync(bucket, null, object, data, length, uploadId, partNumber, null, null)
+                .thenApply(response -> new Part(response.partNumber(), response.etag()));
+    }
+
+    /**
+     * Complete a multipart upload
+     *
+     * @param bucket:   the name of the bucket
+     * @param object:   the name of the object
+     * @param uploadId: the id of the multipart upload
+     * @param parts:    the uploaded parts, ordered by part number
+     * @return the {@link ObjectWriteResponse} as a {@link CompletableFuture}
+     * @throws Exception if the request cannot be sent
+     */
+    public CompletableFuture<ObjectWriteResponse> completeMultipartUpload(String bucket, String object, String uploadId, Part[] parts) throws Exception {
+        return this.completeMultipartUploadAsync(bucket, null, object, uploadId, parts, null, null);
+    }
+
+    /**
+     * Abort a multipart upload and release the uploaded parts
+     *
+     * @param bucket:   the name of the bucket
+     * @param object:   the name of the object
+     * @param uploadId: the id of the multipart upload
+     * @return a {@link CompletableFuture} completed once the upload is aborted
+     * @throws Exception if the request cannot be sent
+     */
+    public CompletableFuture<Void> abortMultipartUpload(String bucket, String object, String uploadId) throws Exception {
+        return this.abortMultipartUploadAsync(bucket, null, object, uploadId, null, null)
+                .thenApply(response -> null);
+    }
+
+    /**
+     * List a single page of objects
+     *
+     * @param bucket:            the name of the bucket
+     * @param prefix:            the optional prefix of the objects
+     * @param delimiter:         the optional delimiter grouping the objects by common prefix
+     * @param startAfter:        the optional name after which the listing starts
+     * @param maxKeys:           the maximum number of objects of the page
+     * @param continuationToken: the token of the page, null for the first page
+     * @return the {@link ListBucketResultV2} as a {@link CompletableFuture}, its keys are url encoded
+     * @throws Exception if the request cannot be sent
+     */
+    public CompletableFuture<ListBucketResultV2> listObjectsPage(String bucket, String prefix, String delimiter, String startAfter,
+                                                                 int maxKeys, String continuationToken) throws Exception {
+        return this.listObjectsV2Async(bucket, null, delimiter, URL_ENCODING, startAfter, maxKeys, prefix, continuationToken,
+                        false, false, null, null)
+                .thenApply(response -> response.result());
+    }
+}
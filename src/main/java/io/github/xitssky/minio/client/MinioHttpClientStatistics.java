@@ -0,0 +1,79 @@
+package io.github.xitssky.minio.client;
+
+import lombok.RequiredArgsConstructor;
+import okhttp3.OkHttpClient;
+
+/**
+ * The statistics of the connection pool and of the dispatcher shared by the Minio clients
+ *
+ * @author quentin
+ */
+@RequiredArgsConstructor
+public class MinioHttpClientStatistics {
+    private final OkHttpClient httpClient;
+
+    /**
+     * Get the number of open connections
+     *
+     * @return the number of connections
+     */
+    public int getConnectionCount() {
+        return this.httpClient.connectionPool().connectionCount();
+    }
+
+    /**
+     * Get the number of idle connections
+     *
+     * @return the number of idle connections
+     */
+    public int getIdleConnectionCount() {
+        return this.httpClient.connectionPool().idleConnectionCount();
+    }
+
+    /**
+     * Get the number of requests in flight
+     *
+     * @return the number of running requests
+     */
+    public int getRunningRequestCount() {
+        return this.httpClient.dispatcher().runningCallsCount();
+    }
+
+    /**
+     * Get the number of requests waiting for the dispatcher limits. Queued requests mean the pool is saturated.
+     *
+     * @return the number of queued requests
+     */
+    public int getQueuedRequestCount() {
+        return this.httpClient.dispatcher().queuedCallsCount();
+    }
+
+    /**
+     * Get the maximum number of concurrent requests
+     *
+     * @return the maximum number of requests
+     */
+    public int getMaxRequests() {
+        return this.httpClient.dispatcher().getMaxRequests();
+    }
+
+    /**
+     * Get the maximum number of concurrent requests to a single host
+     *
+     * @return the maximum number of requests per host
+     */
+    public int getMaxRequestsPerHost() {
+        return this.httpClient.dispatcher().getMaxRequestsPerHost();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "MinioHttpClientStatistics{connections=" + this.getConnectionCount()
+                + ", idleConnections=" + this.getIdleConnectionCount()
+                + ", runningRequests=" + this.getRunningRequestCount()
+                + ", queuedRequests=" + this.getQueuedRequestCount() + "}";
+    }
+}
@@ -1,18 +1,51 @@
 package io.github.xitssky.minio.configuration;
 
-import io.github.xitssky.minio.configuration.properties.MinioBucket;
-import io.github.xitssky.minio.configuration.properties.MinioBucketRetentionDuration;
+import io.github.xitssky.minio.client.BufferedSocketFactory;
+import io.github.xitssky.minio.client.MinioEndpointBalancer;
+import io.github.xitssky.minio.client.MinioHttpClientStatistics;
+import io.github.xitssky.minio.client.MinioExtendedClient;
 import io.github.xitssky.minio.configuration.properties.MinioConfigurationProperties;
+import io.github.xitssky.minio.configuration.properties.MinioHttp;
+import io.github.xitssky.minio.configuration.provisioning.MinioBucketProvisioner;
+import io.github.xitssky.minio.configuration.provisioning.MinioProvisioningHealthIndicator;
 import io.github.xitssky.minio.exception.BucketCreationException;
 import io.github.xitssky.minio.exception.InvalidMinioConfigurationException;
-import io.github.xitssky.minio.exception.MinioRequestException;
-import io.github.xitssky.minio.exception.utils.LambdaExceptionUtils;
+import io.github.xitssky.minio.executor.MinioTaskExecutor;
+import io.github.xitssky.minio.observation.MinioHttpClientMetrics;
+import io.github.xitssky.minio.observation.MinioMicrometerObserver;
+import io.github.xitssky.minio.observation.MinioObserver;
 import io.github.xitssky.minio.service.MinioService;
-import io.minio.*;
-import io.minio.messages.*;
+import io.github.xitssky.minio.service.async.MinioAsyncService;
+import io.github.xitssky.minio.service.cache.MinioBucketCache;
+import io.github.xitssky.minio.service.cache.MinioDigestIndex;
+import io.github.xitssky.minio.service.cache.MinioDiskCache;
+import io.github.xitssky.minio.service.cache.MinioMetadataCache;
+import io.github.xitssky.minio.service.cache.MinioPresignedUrlCache;
+import io.github.xitssky.minio.service.compression.MinioCompression;
+import io.github.xitssky.minio.service.listing.MinioObjectLister;
+import io.github.xitssky.minio.service.spool.MinioUploadSpool;
+import io.github.xitssky.minio.service.sync.MinioDirectorySync;
+import io.github.xitssky.minio.service.reactive.MinioReactiveService;
+import io.github.xitssky.minio.service.retry.MinioHedgedReader;
+import io.github.xitssky.minio.service.retry.MinioRetryPolicy;
+import io.github.xitssky.minio.service.transfer.MinioMultipartUploader;
+import io.github.xitssky.minio.service.transfer.MinioRangedDownloader;
+import io.minio.MinioAsyncClient;
+import io.minio.MinioClient;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
 import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -20,6 +53,7 @@ import org.springframework.context.annotation.Configuration;
 import java.net.InetSocketAddress;
 import java.net.Proxy;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Minio auto configuration class
@@ -30,204 +64,305 @@ import java.util.List;
 @RequiredArgsConstructor
 @Configuration
 @EnableConfigurationProperties(MinioConfigurationProperties.class)
-public class MinioAutoConfiguration {
+public class MinioAutoConfiguration implements DisposableBean {
 
     private final MinioConfigurationProperties properties;
 
+    /**
+     * The HTTP client shared by all the Minio clients, built on first use
+     */
+    private OkHttpClient httpClient;
+
+    /**
+     * The balancer of the requests across the Minio nodes, null if no endpoint is configured
+     */
+    private MinioEndpointBalancer endpointBalancer;
+
     @Bean
-    public MinioService minioService(MinioClient minioClient) {
-        return new MinioService(minioClient);
+    public MinioService minioService(MinioClient minioClient, MinioTaskExecutor minioTaskExecutor,
+                                     MinioMultipartUploader minioMultipartUploader, ObjectProvider<MinioRangedDownloader> minioRangedDownloader,
+                                     MinioObjectLister minioObjectLister, ObjectProvider<MinioBucketCache> minioBucketCache,
+                                     ObjectProvider<MinioMetadataCache> minioMetadataCache,
+                                     ObjectProvider<MinioDiskCache> minioDiskCache,
+                                     ObjectProvider<MinioPresignedUrlCache> minioPresignedUrlCache,
+                                     ObjectProvider<MinioObserver> minioObserver,
+                                     ObjectProvider<MinioRetryPolicy> minioRetryPolicy,
+                                     ObjectProvider<MinioHedgedReader> minioHedgedReader,
+                                     ObjectProvider<MinioCompression> minioCompression,
+                                     ObjectProvider<MinioDigestIndex> minioDigestIndex) {
+        return new MinioService(minioClient, this.properties, minioTaskExecutor, minioMultipartUploader, minioRangedDownloader.getIfAvailable(),
+                minioObjectLister, minioBucketCache.getIfAvailable(), minioMetadataCache.getIfAvailable(),
+                minioDiskCache.getIfAvailable(), minioPresignedUrlCache.getIfAvailable(), minioObserver.getIfAvailable(), minioRetryPolicy.getIfAvailable(),
+                minioHedgedReader.getIfAvailable(), minioCompression.getIfAvailable(), minioDigestIndex.getIfAvailable());
     }
 
     @Bean
-    public MinioClient minioClient() throws InvalidMinioConfigurationException, BucketCreationException {
-        // Client builder
-        final MinioClient.Builder minioClientBuilder = MinioClient.builder()
-                .endpoint(this.properties.getUrl())
-                .credentials(this.properties.getAccessKey(), this.properties.getSecretKey());
+    @ConditionalOnProperty(prefix = "spring.minio.cache.bucket", name = "enabled", havingValue = "true")
+    public MinioBucketCache minioBucketCache(MinioClient minioClient, ObjectProvider<MinioRetryPolicy> minioRetryPolicy) {
+        return new MinioBucketCache(minioClient, this.properties.getCache().getBucket(), minioRetryPolicy.getIfAvailable());
+    }
 
-        // Set Client with proxy if the proxy is enabled
-        if (this.properties.getProxyHost() != null && !this.properties.getProxyHost().isBlank()
-                && this.properties.getProxyPort() != null && !this.properties.getProxyPort().isBlank()) {
-            minioClientBuilder.httpClient(this.getHttpClientWithProxy());
-        }
+    @Bean
+    @ConditionalOnProperty(prefix = "spring.minio.cache.metadata", name = "enabled", havingValue = "true")
+    public MinioMetadataCache minioMetadataCache() {
+        return new MinioMetadataCache(this.properties.getCache().getMetadata());
+    }
 
-        final MinioClient client = minioClientBuilder.build();
+    @Bean
+    @ConditionalOnProperty(prefix = "spring.minio.cache.disk", name = "enabled", havingValue = "true")
+    public MinioDiskCache minioDiskCache(MinioClient minioClient) {
+        return new MinioDiskCache(minioClient, this.properties.getCache().getDisk());
+    }
 
-        // Set Client timeout
-        client.setTimeout(
-                this.properties.getConnectTimeout().toMillis(),
-                this.properties.getWriteTimeout().toMillis(),
-                this.properties.getReadTimeout().toMillis()
-        );
+    @Bean
+    @ConditionalOnProperty(prefix = "spring.minio.cache.presigned", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public MinioPresignedUrlCache minioPresignedUrlCache() {
+        return new MinioPresignedUrlCache(this.properties.getCache().getPresigned());
+    }
 
-        // If auto bucket creation is enable create them
-        if (this.properties.isAutoCreateBucket()) {
-            this.properties.getBuckets().forEach(bucket -> this.createBucket(client, bucket));
-        }
+    @Bean
+    public MinioCompression minioCompression() {
+        return new MinioCompression(this.properties.getBuckets());
+    }
 
-        return client;
+    @Bean
+    public MinioDigestIndex minioDigestIndex() {
+        return new MinioDigestIndex(this.properties.getDeduplication());
     }
 
-    /**
-     * Get an HTTP client with a proxy configured
-     *
-     * @return an {@link OkHttpClient}
-     * @throws InvalidMinioConfigurationException if something is wrong in the configuration
-     */
-    private OkHttpClient getHttpClientWithProxy() throws InvalidMinioConfigurationException {
-        try {
-            final String host = this.properties.getProxyHost();
-            final int port = Integer.parseInt(this.properties.getProxyHost());
-            final Proxy.Type type = Proxy.Type.valueOf(this.properties.getProxyType());
+    @Bean
+    @ConditionalOnProperty(prefix = "spring.minio.spool", name = "enabled", havingValue = "true")
+    public MinioUploadSpool minioUploadSpool(MinioService minioService) {
+        return new MinioUploadSpool(minioService, this.properties.getSpool());
+    }
 
-            return new OkHttpClient.Builder()
-                    .proxy(new Proxy(type, new InetSocketAddress(host, port)))
-                    .build();
-        } catch (NumberFormatException portException) {
-            throw new InvalidMinioConfigurationException("proxyPort", "valid port (ex: 9000)");
-        } catch (IllegalArgumentException typeException) {
-            throw new InvalidMinioConfigurationException("proxyType", "HTTP | HTTPS");
+    @Bean
+    public MinioDirectorySync minioDirectorySync(MinioService minioService, MinioCompression minioCompression) {
+        return new MinioDirectorySync(minioService, this.properties.getSync(), minioCompression);
+    }
+
+    @Bean
+    public MinioObjectLister minioObjectLister(MinioExtendedClient minioExtendedClient, ObjectProvider<MinioRetryPolicy> minioRetryPolicy) {
+        return new MinioObjectLister(minioExtendedClient, minioRetryPolicy.getIfAvailable());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "spring.minio.retry", name = "enabled", havingValue = "true")
+    public MinioRetryPolicy minioRetryPolicy() {
+        return new MinioRetryPolicy(this.properties.getRetry());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "spring.minio.retry.hedging", name = "enabled", havingValue = "true")
+    public MinioHedgedReader minioHedgedReader(MinioTaskExecutor minioTaskExecutor) {
+        return new MinioHedgedReader(minioTaskExecutor, this.properties.getRetry().getHedging());
+    }
+
+    @Bean
+    public MinioAsyncService minioAsyncService(MinioExtendedClient minioExtendedClient, MinioCompression minioCompression) {
+        return new MinioAsyncService(minioExtendedClient, this.properties, minioCompression);
+    }
+
+    @Bean
+    public MinioTaskExecutor minioTaskExecutor() {
+        return new MinioTaskExecutor(this.properties.getExecution());
+    }
+
+    @Bean
+    public MinioMultipartUploader minioMultipartUploader(MinioExtendedClient minioExtendedClient, MinioTaskExecutor minioTaskExecutor) {
+        return new MinioMultipartUploader(minioExtendedClient, minioTaskExecutor, this.properties.getUpload());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "spring.minio.download", name = "ranged", havingValue = "true")
+    public MinioRangedDownloader minioRangedDownloader(MinioClient minioClient, MinioTaskExecutor minioTaskExecutor,
+                                                       ObjectProvider<MinioRetryPolicy> minioRetryPolicy) {
+        return new MinioRangedDownloader(minioClient, minioTaskExecutor, this.properties.getDownload(), minioRetryPolicy.getIfAvailable());
+    }
+
+    @Bean
+    public MinioHttpClientStatistics minioHttpClientStatistics() throws InvalidMinioConfigurationException {
+        return new MinioHttpClientStatistics(this.getHttpClient());
+    }
+
+    @Bean
+    public MinioExtendedClient minioExtendedClient() throws InvalidMinioConfigurationException {
+        return new MinioExtendedClient(MinioAsyncClient.builder()
+                .endpoint(this.properties.getUrl())
+                .credentials(this.properties.getAccessKey(), this.properties.getSecretKey())
+                .httpClient(this.getHttpClient())
+                .build());
+    }
+
+    @Bean
+    public MinioClient minioClient() throws InvalidMinioConfigurationException, BucketCreationException {
+        final MinioClient client = MinioClient.builder()
+                .endpoint(this.properties.getUrl())
+                .credentials(this.properties.getAccessKey(), this.properties.getSecretKey())
+                .httpClient(this.getHttpClient())
+                .build();
+
+        // If auto bucket creation is enable create them, unless they are created in background
+        if (this.properties.isAutoCreateBucket() && !this.properties.getProvisioning().isBackground()) {
+            new MinioBucketProvisioner(client, this.properties.getBuckets(), this.properties.getProvisioning()).provision();
         }
+
+        return client;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "spring.minio.provisioning", name = "background", havingValue = "true")
+    public MinioBucketProvisioner minioBucketProvisioner(MinioClient minioClient) {
+        return new MinioBucketProvisioner(minioClient, this.properties.isAutoCreateBucket() ? this.properties.getBuckets() : null,
+                this.properties.getProvisioning());
     }
 
     /**
-     * Create a bucket
-     *
-     * @param client:              the {@link MinioClient}
-     * @param bucketConfiguration: the {@link MinioBucket} containing bucket configuration
-     * @throws BucketCreationException if something goes wrong during the bucket creation
+     * Release the threads and connections of the shared HTTP client and of its balancer
      */
-    private void createBucket(MinioClient client, MinioBucket bucketConfiguration) throws BucketCreationException {
-        try {
-            if (this.properties.isAutoCreateBucket() && !this.bucketExists(bucketConfiguration.getName(), client)) {
-                // Bucket creation
-                client.makeBucket(MakeBucketArgs.builder()
-                        .bucket(bucketConfiguration.getName())
-                        .objectLock(this.getObjectLock(bucketConfiguration))
-                        .build());
-
-                // Versioning configuration
-                final VersioningConfiguration versioningConfiguration = this.getVersioningConfiguration(bucketConfiguration);
-                if (versioningConfiguration != null) {
-                    client.setBucketVersioning(SetBucketVersioningArgs.builder()
-                            .bucket(bucketConfiguration.getName())
-                            .config(versioningConfiguration)
-                            .build());
-                }
-
-                // Object Locking configuration
-                final ObjectLockConfiguration objectLockConfiguration = this.getObjectLockConfiguration(bucketConfiguration);
-                if (objectLockConfiguration != null) {
-                    client.setObjectLockConfiguration(SetObjectLockConfigurationArgs.builder()
-                            .bucket(bucketConfiguration.getName())
-                            .config(objectLockConfiguration)
-                            .build());
-                }
-
-                // Bucket policies configuration
-                final List<String> policiesConfiguration = bucketConfiguration.getPolicies();
-                policiesConfiguration.forEach(LambdaExceptionUtils.handleConsumerException(policyConfiguration -> client.setBucketPolicy(SetBucketPolicyArgs.builder()
-                        .bucket(bucketConfiguration.getName())
-                        .config(policyConfiguration)
-                        .build()), Exception.class));
-            }
-        } catch (Exception ex) {
-            throw new BucketCreationException(bucketConfiguration.getName(), ex);
+    @Override
+    public synchronized void destroy() {
+        if (this.endpointBalancer != null) {
+            this.endpointBalancer.close();
+        }
+        if (this.httpClient != null) {
+            this.httpClient.dispatcher().executorService().shutdown();
+            this.httpClient.connectionPool().evictAll();
         }
     }
 
     /**
-     * Check whether a bucket exists or not
+     * Check whether a proxy is configured
      *
-     * @param bucketName: the name of the bucket to check
-     * @param client:     the {@link MinioClient}
-     * @return the result as {@link Boolean}
+     * @return a {@link Boolean}
      */
-    private boolean bucketExists(String bucketName, MinioClient client) {
-        try {
-            return client.bucketExists(BucketExistsArgs.builder()
-                    .bucket(bucketName)
-                    .build());
-        } catch (Exception ex) {
-            throw new MinioRequestException("BucketExists", ex);
-        }
+    private boolean isProxyEnabled() {
+        return this.properties.getProxyHost() != null && !this.properties.getProxyHost().isBlank()
+                && this.properties.getProxyPort() != null && !this.properties.getProxyPort().isBlank();
     }
 
     /**
-     * Check if Versioning is enabled
+     * Get the HTTP client shared by all the Minio clients, with the connection pool, dispatcher limits, timeouts, proxy
+     * and endpoint balancing configured
      *
-     * @param bucketConfiguration: the {@link MinioBucket} configuration
-     * @return a {@link Boolean}
+     * @return an {@link OkHttpClient}
+     * @throws InvalidMinioConfigurationException if something is wrong in the configuration
      */
-    private VersioningConfiguration getVersioningConfiguration(MinioBucket bucketConfiguration) {
-        return bucketConfiguration.isVersioning() || this.getObjectLock(bucketConfiguration) ?
-                new VersioningConfiguration(VersioningConfiguration.Status.ENABLED, false) :
-                null;
+    private synchronized OkHttpClient getHttpClient() throws InvalidMinioConfigurationException {
+        if (this.httpClient == null) {
+            final MinioHttp http = this.properties.getHttp();
+
+            final Dispatcher dispatcher = new Dispatcher();
+            dispatcher.setMaxRequests(http.getMaxRequests());
+            dispatcher.setMaxRequestsPerHost(http.getMaxRequestsPerHost());
+
+            final OkHttpClient.Builder builder = new OkHttpClient.Builder()
+                    .dispatcher(dispatcher)
+                    .connectionPool(new ConnectionPool(http.getMaxIdleConnections(), http.getKeepAlive().toMillis(), TimeUnit.MILLISECONDS))
+                    .protocols(http.isHttp2() ? List.of(Protocol.HTTP_2, Protocol.HTTP_1_1) : List.of(Protocol.HTTP_1_1))
+                    .connectTimeout(this.properties.getConnectTimeout())
+                    .writeTimeout(this.properties.getWriteTimeout())
+                    .readTimeout(this.properties.getReadTimeout());
+
+            // Set socket buffers if provided
+            if (http.getSendBufferSize() != null || http.getReceiveBufferSize() != null) {
+                builder.socketFactory(new BufferedSocketFactory(
+                        http.getSendBufferSize() != null ? Math.toIntExact(http.getSendBufferSize().toBytes()) : null,
+                        http.getReceiveBufferSize() != null ? Math.toIntExact(http.getReceiveBufferSize().toBytes()) : null));
+            }
+
+            // Set proxy if the proxy is enabled
+            if (this.isProxyEnabled()) {
+                builder.proxy(this.getProxy());
+            }
+
+            // Balance the requests across the nodes if provided
+            if (!this.properties.getEndpoints().isEmpty()) {
+                this.endpointBalancer = new MinioEndpointBalancer(this.properties.getEndpoints(), this.properties.getBalancing());
+                builder.addInterceptor(this.endpointBalancer);
+            }
+
+            this.httpClient = builder.build();
+            if (this.endpointBalancer != null) {
+                this.endpointBalancer.start(this.httpClient);
+            }
+        }
+        return this.httpClient;
     }
 
     /**
-     * Check if Object locking is enabled
+     * Get the configured proxy
      *
-     * @param bucketConfiguration: the {@link MinioBucket} configuration
-     * @return a {@link Boolean}
+     * @return a {@link Proxy}
+     * @throws InvalidMinioConfigurationException if something is wrong in the configuration
      */
-    private boolean getObjectLock(MinioBucket bucketConfiguration) {
-        return bucketConfiguration.isObjectLocking() || bucketConfiguration.getRetention().isEnabled();
+    private Proxy getProxy() throws InvalidMinioConfigurationException {
+        try {
+            final String host = this.properties.getProxyHost();
+            final int port = Integer.parseInt(this.properties.getProxyPort());
+            final Proxy.Type type = Proxy.Type.valueOf(this.properties.getProxyType());
+
+            return new Proxy(type, new InetSocketAddress(host, port));
+        } catch (NumberFormatException portException) {
+            throw new InvalidMinioConfigurationException("proxyPort", "valid port (ex: 9000)");
+        } catch (IllegalArgumentException typeException) {
+            throw new InvalidMinioConfigurationException("proxyType", "HTTP | HTTPS");
+        }
     }
 
     /**
-     * Check if Versioning is enabled
-     *
-     * @param bucketConfiguration: the {@link MinioBucket} configuration
-     * @return a {@link Boolean}
+     * Reactor adapter configuration, only loaded when Reactor is on the classpath
      */
-    private ObjectLockConfiguration getObjectLockConfiguration(MinioBucket bucketConfiguration) {
-        final boolean enabled = bucketConfiguration.getRetention().isEnabled();
+    @Configuration
+    @ConditionalOnClass(name = "reactor.core.publisher.Mono")
+    static class MinioReactiveConfiguration {
 
-        if(enabled) {
-            final RetentionMode mode = this.getRetentionMode(bucketConfiguration.getRetention().getMode());
-            final RetentionDuration duration = this.getMinioRetentionDuration(bucketConfiguration);
-            return mode != null && duration != null ? new ObjectLockConfiguration(mode, duration) : null;
+        @Bean
+        public MinioReactiveService minioReactiveService(MinioAsyncService minioAsyncService) {
+            return new MinioReactiveService(minioAsyncService);
         }
-        return null;
     }
 
     /**
-     * Get the {@link RetentionDuration}
-     *
-     * @param bucketConfiguration: the {@link MinioBucket} configuration
-     * @return the {@link RetentionDuration}
+     * Metrics and tracing configuration, only loaded when Micrometer is on the classpath
      */
-    private RetentionDuration getMinioRetentionDuration(MinioBucket bucketConfiguration) {
-        MinioBucketRetentionDuration duration = bucketConfiguration.getRetention().getDuration();
-
-        if(duration != null) {
-            return switch (bucketConfiguration.getRetention().getDuration().getUnit()) {
-                case "YEARS" -> new RetentionDurationYears(duration.getValue());
-                case "DAYS" -> new RetentionDurationDays(duration.getValue());
-                default -> null;
-            };
+    @Configuration
+    @ConditionalOnClass(name = "io.micrometer.core.instrument.MeterRegistry")
+    @ConditionalOnProperty(prefix = "spring.minio.metrics", name = "enabled", havingValue = "true", matchIfMissing = true)
+    static class MinioObservationConfiguration {
+
+        @Bean
+        public MinioObserver minioObserver(ObjectProvider<ObservationRegistry> observationRegistry,
+                                           ObjectProvider<MeterRegistry> meterRegistry) {
+            final MeterRegistry registry = meterRegistry.getIfAvailable(() -> Metrics.globalRegistry);
+
+            // Without the registry of the application, time the operations directly in the meter registry
+            final ObservationRegistry observations = observationRegistry.getIfAvailable(() -> {
+                final ObservationRegistry created = ObservationRegistry.create();
+                created.observationConfig().observationHandler(new DefaultMeterObservationHandler(registry));
+                return created;
+            });
+            return new MinioMicrometerObserver(observations, registry);
         }
 
-        return null;
+        @Bean
+        public MinioHttpClientMetrics minioHttpClientMetrics(MinioHttpClientStatistics minioHttpClientStatistics,
+                                                             ObjectProvider<MeterRegistry> meterRegistry) {
+            return new MinioHttpClientMetrics(minioHttpClientStatistics, meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+        }
     }
 
     /**
-     * Get the {@link RetentionMode}
-     *
-     * @param mode: the retention mode as {@link String}
-     * @return the {@link RetentionMode}
+     * Background provisioning health configuration, only loaded when Spring Boot Actuator is on the classpath
      */
-    private RetentionMode getRetentionMode(String mode) {
-        if(mode == null) {
-            return null;
-        }
+    @Configuration
+    @ConditionalOnClass(name = "org.springframework.boot.actuate.health.HealthIndicator")
+    static class MinioProvisioningHealthConfiguration {
 
-        return switch (mode) {
-            case "GOVERNANCE" -> RetentionMode.GOVERNANCE;
-            case "COMPLIANCE" -> RetentionMode.COMPLIANCE;
-            default -> null;
-        };
+        @Bean
+        @ConditionalOnProperty(prefix = "spring.minio.provisioning", name = "background", havingValue = "true")
+        public MinioProvisioningHealthIndicator minioProvisioningHealthIndicator(MinioBucketProvisioner minioBucketProvisioner) {
+            return new MinioProvisioningHealthIndicator(minioBucketProvisioner);
+        }
     }
 }
@@ -0,0 +1,35 @@
+package io.github.xitssky.minio.configuration.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Duration;
+
+/**
+ * The Minio client side load balancing configuration, used when several endpoints are configured
+ *
+ * @author quentin
+ */
+@Getter
+@Setter
+public class MinioBalancing {
+    /**
+     * The endpoint selection strategy (LEAST_OUTSTANDING | POWER_OF_TWO_CHOICES)
+     */
+    private String strategy = "POWER_OF_TWO_CHOICES";
+
+    /**
+     * The interval between two health checks of each endpoint
+     */
+    private Duration healthCheckInterval = Duration.ofSeconds(10);
+
+    /**
+     * The path of the health check of the endpoints
+     */
+    private String healthCheckPath = "/minio/health/live";
+
+    /**
+     * The number of consecutive connection failures after which an endpoint is ejected until its next health check
+     */
+    private int failureThreshold = 3;
+}
@@ -32,10 +32,15 @@ public class MinioBucket {
     /**
      * The retention policy to apply to the bucket
      */
-    private MinioBucketRetention retention;
+    private MinioBucketRetention retention = new MinioBucketRetention();
 
     /**
      * The access policies to apply to the bucket
      */
     private List<String> policies = new ArrayList<>();
+
+    /**
+     * The compression of the files uploaded to the bucket: NONE, GZIP or ZSTD (requires zstd-jni)
+     */
+    private String compression = "NONE";
 }
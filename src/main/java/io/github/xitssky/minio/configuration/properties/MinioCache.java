@@ -0,0 +1,33 @@
+package io.github.xitssky.minio.configuration.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * The Minio caches configuration
+ *
+ * @author quentin
+ */
+@Getter
+@Setter
+public class MinioCache {
+    /**
+     * The bucket cache configuration
+     */
+    private MinioCacheBucket bucket = new MinioCacheBucket();
+
+    /**
+     * The object metadata cache configuration
+     */
+    private MinioCacheMetadata metadata = new MinioCacheMetadata();
+
+    /**
+     * The local disk download cache configuration
+     */
+    private MinioCacheDisk disk = new MinioCacheDisk();
+
+    /**
+     * The presigned url cache configuration
+     */
+    private MinioCachePresigned presigned = new MinioCachePresigned();
+}
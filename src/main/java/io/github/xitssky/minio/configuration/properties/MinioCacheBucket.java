@@ -0,0 +1,40 @@
+package io.github.xitssky.minio.configuration.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Duration;
+
+/**
+ * The Minio bucket cache configuration
+ *
+ * @author quentin
+ */
+@Getter
+@Setter
+public class MinioCacheBucket {
+    /**
+     * Whether the bucket lookups are cached or not
+     */
+    private boolean enabled = false;
+
+    /**
+     * How long an existing bucket is cached
+     */
+    private Duration ttl = Duration.ofMinutes(1);
+
+    /**
+     * How long a missing bucket is cached, never if not provided
+     */
+    private Duration notFoundTtl = null;
+
+    /**
+     * How long before a cached bucket is refreshed in background on access, never if not provided (lower than ttl)
+     */
+    private Duration refreshAfter = null;
+
+    /**
+     * The maximum number of cached buckets
+     */
+    private long maxSize = 1000;
+}
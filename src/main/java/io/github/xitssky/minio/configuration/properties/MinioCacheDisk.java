@@ -0,0 +1,31 @@
+package io.github.xitssky.minio.configuration.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+
+/**
+ * The Minio local disk download cache configuration
+ *
+ * @author quentin
+ */
+@Getter
+@Setter
+public class MinioCacheDisk {
+    /**
+     * Whether the downloads are cached on the local disk or not
+     */
+    private boolean enabled = false;
+
+    /**
+     * The directory of the cached files (required if enabled)
+     */
+    private Path directory;
+
+    /**
+     * The maximum total size of the cached files, the least recently used files being evicted first
+     */
+    private DataSize maxSize = DataSize.ofGigabytes(10);
+}
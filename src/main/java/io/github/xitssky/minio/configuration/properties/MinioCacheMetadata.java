@@ -0,0 +1,35 @@
+package io.github.xitssky.minio.configuration.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Duration;
+
+/**
+ * The Minio object metadata cache configuration
+ *
+ * @author quentin
+ */
+@Getter
+@Setter
+public class MinioCacheMetadata {
+    /**
+     * Whether the file information lookups are cached or not
+     */
+    private boolean enabled = false;
+
+    /**
+     * How long the information of an existing file is cached
+     */
+    private Duration ttl = Duration.ofMinutes(1);
+
+    /**
+     * How long a missing file is cached
+     */
+    private Duration notFoundTtl = Duration.ofSeconds(5);
+
+    /**
+     * The maximum number of cached files
+     */
+    private long maxSize = 10_000;
+}
@@ -0,0 +1,30 @@
+package io.github.xitssky.minio.configuration.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Duration;
+
+/**
+ * The Minio presigned url cache configuration
+ *
+ * @author quentin
+ */
+@Getter
+@Setter
+public class MinioCachePresigned {
+    /**
+     * Whether the presigned urls are reused or not
+     */
+    private boolean enabled = true;
+
+    /**
+     * How long a presigned url is reused, at most half of its expiry
+     */
+    private Duration maxAge = Duration.ofMinutes(1);
+
+    /**
+     * The maximum number of cached urls
+     */
+    private long maxSize = 10_000;
+}
@@ -5,6 +5,7 @@ import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -21,6 +22,17 @@ public class MinioConfigurationProperties {
      */
     private String url;
 
+    /**
+     * The urls of all the Minio nodes the requests are balanced on, signed for the Minio url. Empty to send every
+     * request to the Minio url.
+     */
+    private List<String> endpoints = new ArrayList<>();
+
+    /**
+     * The load balancing configuration, used when endpoints are configured
+     */
+    private MinioBalancing balancing = new MinioBalancing();
+
     /**
      * Is Proxy enabled
      */
@@ -66,11 +78,81 @@ public class MinioConfigurationProperties {
      */
     private Duration readTimeout = Duration.ofSeconds(10);
 
+    /**
+     * The HTTP connection configuration
+     */
+    private MinioHttp http = new MinioHttp();
+
+    /**
+     * The upload configuration
+     */
+    private MinioUpload upload = new MinioUpload();
+
+    /**
+     * The download configuration
+     */
+    private MinioDownload download = new MinioDownload();
+
+    /**
+     * The bulk removal configuration
+     */
+    private MinioRemove remove = new MinioRemove();
+
+    /**
+     * The server side copy configuration
+     */
+    private MinioCopy copy = new MinioCopy();
+
+    /**
+     * The bulk file information configuration
+     */
+    private MinioStat stat = new MinioStat();
+
+    /**
+     * The content addressed upload configuration
+     */
+    private MinioDeduplication deduplication = new MinioDeduplication();
+
+    /**
+     * The write-behind upload spool configuration
+     */
+    private MinioSpool spool = new MinioSpool();
+
+    /**
+     * The directory synchronization configuration
+     */
+    private MinioSync sync = new MinioSync();
+
+    /**
+     * The retry configuration of the idempotent requests
+     */
+    private MinioRetry retry = new MinioRetry();
+
+    /**
+     * The caches configuration
+     */
+    private MinioCache cache = new MinioCache();
+
+    /**
+     * The configuration of the executor running the parallel operations
+     */
+    private MinioExecution execution = new MinioExecution();
+
+    /**
+     * The configuration of the metrics and tracing of the operations
+     */
+    private MinioMetrics metrics = new MinioMetrics();
+
     /**
      * Are buckets auto created or not
      */
     private boolean autoCreateBucket = true;
 
+    /**
+     * The configuration of the bucket auto creation
+     */
+    private MinioProvisioning provisioning = new MinioProvisioning();
+
     /**
      * All the buckets
      */
@@ -0,0 +1,18 @@
+package io.github.xitssky.minio.configuration.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * The Minio server side copy configuration
+ *
+ * @author quentin
+ */
+@Getter
+@Setter
+public class MinioCopy {
+    /**
+     * The maximum number of copies of a bulk move running in parallel
+     */
+    private int parallelism = 8;
+}
@@ -0,0 +1,30 @@
+package io.github.xitssky.minio.configuration.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Duration;
+
+/**
+ * The Minio content addressed upload configuration
+ *
+ * @author quentin
+ */
+@Getter
+@Setter
+public class MinioDeduplication {
+    /**
+     * The prefix of the filenames of the content addressed files, followed by the SHA-256 digest of their content
+     */
+    private String prefix = "sha256/";
+
+    /**
+     * The maximum number of content addressed files known to exist kept in the local index, 0 to always check Minio
+     */
+    private long indexSize = 100_000;
+
+    /**
+     * How long a content addressed file is known to exist without checking Minio again
+     */
+    private Duration indexTtl = Duration.ofHours(1);
+}
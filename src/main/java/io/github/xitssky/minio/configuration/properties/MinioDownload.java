@@ -0,0 +1,40 @@
+package io.github.xitssky.minio.configuration.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * The Minio download configuration
+ *
+ * @author quentin
+ */
+@Getter
+@Setter
+public class MinioDownload {
+    /**
+     * Whether the objects bigger than a range are downloaded to files by ranges fetched in parallel or not. Every
+     * download to a file then starts with a StatObject request.
+     */
+    private boolean ranged = false;
+
+    /**
+     * The size of the downloaded ranges. Objects bigger than a range are downloaded to files in parallel if ranged
+     */
+    private DataSize partSize = DataSize.ofMegabytes(16);
+
+    /**
+     * The maximum number of ranges of a single download fetched in parallel
+     */
+    private int parallelism = 4;
+
+    /**
+     * The size of the blocks fetched by the channels of opened files
+     */
+    private DataSize blockSize = DataSize.ofMegabytes(1);
+
+    /**
+     * The maximum number of blocks kept in memory by each channel of an opened file
+     */
+    private int cachedBlocks = 8;
+}
@@ -0,0 +1,28 @@
+package io.github.xitssky.minio.configuration.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * The Minio execution configuration
+ *
+ * @author quentin
+ */
+@Getter
+@Setter
+public class MinioExecution {
+    /**
+     * The number of threads running the parallel operations (multipart uploads, ...), when virtual threads are disabled
+     */
+    private int threads = 16;
+
+    /**
+     * Whether the parallel operations run on a virtual thread per task (requires Java 21)
+     */
+    private boolean virtualThreads = false;
+
+    /**
+     * The maximum number of tasks running at the same time on virtual threads
+     */
+    private int maxConcurrency = 256;
+}
@@ -0,0 +1,35 @@
+package io.github.xitssky.minio.configuration.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Duration;
+
+/**
+ * The Minio hedged reads configuration
+ *
+ * @author quentin
+ */
+@Getter
+@Setter
+public class MinioHedging {
+    /**
+     * Whether a second GET is sent when the first one is slower than usual, the fastest response being kept
+     */
+    private boolean enabled = false;
+
+    /**
+     * The percentile of the recent GET latencies after which the second GET is sent
+     */
+    private double percentile = 0.95;
+
+    /**
+     * The minimum delay before sending the second GET
+     */
+    private Duration minDelay = Duration.ofMillis(10);
+
+    /**
+     * The number of recent GET latencies the percentile is computed on
+     */
+    private int window = 1000;
+}
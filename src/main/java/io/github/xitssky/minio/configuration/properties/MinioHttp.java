@@ -0,0 +1,51 @@
+package io.github.xitssky.minio.configuration.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * The Minio HTTP connection configuration
+ *
+ * @author quentin
+ */
+@Getter
+@Setter
+public class MinioHttp {
+    /**
+     * The maximum number of idle connections kept in the pool
+     */
+    private int maxIdleConnections = 32;
+
+    /**
+     * How long an idle connection is kept in the pool
+     */
+    private Duration keepAlive = Duration.ofMinutes(5);
+
+    /**
+     * The maximum number of concurrent requests
+     */
+    private int maxRequests = 128;
+
+    /**
+     * The maximum number of concurrent requests to a single Minio host
+     */
+    private int maxRequestsPerHost = 64;
+
+    /**
+     * Whether HTTP/2 is preferred when the server supports it (TLS only)
+     */
+    private boolean http2 = false;
+
+    /**
+     * The socket send buffer size, the system default if not provided
+     */
+    private DataSize sendBufferSize = null;
+
+    /**
+     * The socket receive buffer size, the system default if not provided
+     */
+    private DataSize receiveBufferSize = null;
+}
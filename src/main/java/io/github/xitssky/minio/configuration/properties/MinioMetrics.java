@@ -0,0 +1,18 @@
+package io.github.xitssky.minio.configuration.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * The Minio metrics and tracing configuration
+ *
+ * @author quentin
+ */
+@Getter
+@Setter
+public class MinioMetrics {
+    /**
+     * Whether the operations of the services are observed when Micrometer is on the classpath
+     */
+    private boolean enabled = true;
+}
@@ -0,0 +1,23 @@
+package io.github.xitssky.minio.configuration.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * The Minio bucket provisioning configuration
+ *
+ * @author quentin
+ */
+@Getter
+@Setter
+public class MinioProvisioning {
+    /**
+     * The maximum number of buckets provisioned in parallel
+     */
+    private int parallelism = 8;
+
+    /**
+     * Whether the buckets are provisioned in background once the application is ready, instead of during the startup
+     */
+    private boolean background = false;
+}
@@ -0,0 +1,23 @@
+package io.github.xitssky.minio.configuration.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * The Minio bulk removal configuration
+ *
+ * @author quentin
+ */
+@Getter
+@Setter
+public class MinioRemove {
+    /**
+     * The number of objects removed by a single request (max 1000)
+     */
+    private int batchSize = 1000;
+
+    /**
+     * The maximum number of removal requests of a single bulk removal sent in parallel
+     */
+    private int parallelism = 4;
+}
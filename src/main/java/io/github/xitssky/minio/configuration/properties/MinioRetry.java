@@ -0,0 +1,50 @@
+package io.github.xitssky.minio.configuration.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Duration;
+
+/**
+ * The Minio retry configuration of the idempotent requests (GET, HEAD, listings and deletions)
+ *
+ * @author quentin
+ */
+@Getter
+@Setter
+public class MinioRetry {
+    /**
+     * Whether the idempotent requests failing with a transient error are retried or not
+     */
+    private boolean enabled = false;
+
+    /**
+     * The maximum number of attempts of a request, including the first one
+     */
+    private int maxAttempts = 3;
+
+    /**
+     * The backoff before the first retry, doubled at each retry and randomized (full jitter)
+     */
+    private Duration initialBackoff = Duration.ofMillis(50);
+
+    /**
+     * The maximum backoff between two attempts
+     */
+    private Duration maxBackoff = Duration.ofSeconds(2);
+
+    /**
+     * The number of retries the budget holds, spent when Minio is failing
+     */
+    private int budgetCapacity = 100;
+
+    /**
+     * The retries earned by each request, bounding the retries to this ratio of the requests once the budget is spent
+     */
+    private double budgetRatio = 0.1;
+
+    /**
+     * The hedged reads configuration
+     */
+    private MinioHedging hedging = new MinioHedging();
+}
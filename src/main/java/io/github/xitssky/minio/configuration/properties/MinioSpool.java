@@ -0,0 +1,57 @@
+package io.github.xitssky.minio.configuration.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * The Minio write-behind upload spool configuration
+ *
+ * @author quentin
+ */
+@Getter
+@Setter
+public class MinioSpool {
+    /**
+     * Whether the write-behind upload spool is enabled or not
+     */
+    private boolean enabled = false;
+
+    /**
+     * The directory journaling the accepted uploads until they are sent (required if enabled)
+     */
+    private Path directory;
+
+    /**
+     * The maximum total size of the spooled uploads, the new uploads waiting for room beyond it
+     */
+    private DataSize maxSize = DataSize.ofGigabytes(1);
+
+    /**
+     * How long a new upload waits for room in the spool before failing
+     */
+    private Duration acceptTimeout = Duration.ofSeconds(30);
+
+    /**
+     * The number of uploads sent in parallel
+     */
+    private int parallelism = 4;
+
+    /**
+     * The maximum total size of the uploads being sent, a bigger upload being sent alone
+     */
+    private DataSize maxInFlight = DataSize.ofMegabytes(64);
+
+    /**
+     * The number of attempts of an upload before it is moved to the failed directory of the spool
+     */
+    private int maxAttempts = 5;
+
+    /**
+     * The delay before the second attempt of a failed upload, growing linearly with the attempts
+     */
+    private Duration retryDelay = Duration.ofSeconds(1);
+}
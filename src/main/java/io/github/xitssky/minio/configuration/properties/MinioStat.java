@@ -0,0 +1,28 @@
+package io.github.xitssky.minio.configuration.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * The Minio bulk file information configuration
+ *
+ * @author quentin
+ */
+@Getter
+@Setter
+public class MinioStat {
+    /**
+     * The maximum number of file information requests of a bulk lookup in flight
+     */
+    private int parallelism = 16;
+
+    /**
+     * Whether the bulk existence checks may list the common prefix of the files instead of sending a request per file
+     */
+    private boolean listing = false;
+
+    /**
+     * The minimum number of files of an existence check listing their common prefix
+     */
+    private int listingThreshold = 100;
+}
@@ -0,0 +1,25 @@
+package io.github.xitssky.minio.configuration.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Duration;
+
+/**
+ * The Minio directory synchronization configuration
+ *
+ * @author quentin
+ */
+@Getter
+@Setter
+public class MinioSync {
+    /**
+     * The number of files of a synchronization transferred in parallel
+     */
+    private int parallelism = 8;
+
+    /**
+     * The minimum delay between two progress reports of a synchronization
+     */
+    private Duration progressInterval = Duration.ofSeconds(1);
+}
@@ -0,0 +1,29 @@
+package io.github.xitssky.minio.configuration.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * The Minio upload configuration
+ *
+ * @author quentin
+ */
+@Getter
+@Setter
+public class MinioUpload {
+    /**
+     * The size of the uploaded parts (min 5MB, max 2GB). Files bigger than a part are uploaded in parallel
+     */
+    private DataSize partSize = DataSize.ofMegabytes(16);
+
+    /**
+     * The maximum number of parts of a single upload sent in parallel
+     */
+    private int parallelism = 4;
+
+    /**
+     * The number of times a failing part is retried before aborting the upload
+     */
+    private int partRetries = 3;
+}
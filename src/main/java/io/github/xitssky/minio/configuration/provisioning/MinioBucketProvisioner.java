@@ -0,0 +1,285 @@
+package io.github.xitssky.minio.configuration.provisioning;
+
+import io.github.xitssky.minio.configuration.properties.MinioBucket;
+import io.github.xitssky.minio.configuration.properties.MinioBucketRetentionDuration;
+import io.github.xitssky.minio.configuration.properties.MinioProvisioning;
+import io.github.xitssky.minio.exception.BucketCreationException;
+import io.github.xitssky.minio.exception.MinioRequestException;
+import io.github.xitssky.minio.exception.utils.LambdaExceptionUtils;
+import io.github.xitssky.minio.executor.MinioTaskExecutor;
+import io.minio.*;
+import io.minio.messages.*;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * The provisioner creating the configured buckets. The buckets are provisioned in parallel, with the number of buckets
+ * provisioned at once capped, and all the failures are collected. The provisioning either blocks the startup, or runs
+ * in background once the application is ready with its progress exposed by {@link #isProvisioned()}.
+ *
+ * @author quentin
+ */
+@Slf4j
+public class MinioBucketProvisioner implements ApplicationListener<ApplicationReadyEvent> {
+    private final MinioClient client;
+    private final List<MinioBucket> buckets;
+    private final MinioProvisioning configuration;
+
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
+    private final ConcurrentLinkedQueue<BucketCreationException> errors = new ConcurrentLinkedQueue<>();
+    private volatile boolean started;
+
+    /**
+     * Constructor
+     *
+     * @param client:        the {@link MinioClient}
+     * @param buckets:       the {@link MinioBucket} configurations, null if there is none
+     * @param configuration: the {@link MinioProvisioning} configuration
+     */
+    public MinioBucketProvisioner(MinioClient client, List<MinioBucket> buckets, MinioProvisioning configuration) {
+        this.client = client;
+        this.buckets = buckets != null ? buckets : List.of();
+        this.configuration = configuration;
+    }
+
+    /**
+     * Provision the buckets and wait for the end of the provisioning
+     *
+     * @throws BucketCreationException if a bucket cannot be created, the failures of the other buckets are suppressed
+     */
+    public void provision() throws BucketCreationException {
+        try {
+            this.start().join();
+        } catch (CompletionException ex) {
+            throw (BucketCreationException) ex.getCause();
+        }
+    }
+
+    /**
+     * Start the provisioning of the buckets in background once the application is ready
+     *
+     * @param event: the {@link ApplicationReadyEvent}
+     */
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        this.start().exceptionally(ex -> {
+            log.error("Fail to provision the Minio buckets", ex);
+            return null;
+        });
+    }
+
+    /**
+     * Start the provisioning of the buckets, only the first call starts it
+     *
+     * @return the completion of the provisioning as a {@link CompletableFuture}
+     */
+    public synchronized CompletableFuture<Void> start() {
+        if (this.started) {
+            return this.completion;
+        }
+        this.started = true;
+
+        if (this.buckets.isEmpty()) {
+            this.completion.complete(null);
+            return this.completion;
+        }
+
+        // At least one thread, even with a parallelism of zero or less
+        final MinioTaskExecutor executor = new MinioTaskExecutor(Math.max(1, Math.min(this.configuration.getParallelism(), this.buckets.size())));
+        final CompletableFuture<?>[] provisions = this.buckets.stream()
+                .map(bucket -> executor.submit(() -> {
+                    try {
+                        this.createBucket(bucket);
+                    } catch (BucketCreationException ex) {
+                        this.errors.add(ex);
+                    }
+                    return null;
+                }))
+                .toArray(CompletableFuture[]::new);
+
+        CompletableFuture.allOf(provisions).whenComplete((result, ex) -> {
+            executor.close();
+            if (this.errors.isEmpty()) {
+                this.completion.complete(null);
+            } else {
+                final List<BucketCreationException> failures = this.getErrors();
+                final BucketCreationException failure = failures.get(0);
+                failures.stream().skip(1).forEach(failure::addSuppressed);
+                this.completion.completeExceptionally(failure);
+            }
+        });
+        return this.completion;
+    }
+
+    /**
+     * Check whether all the buckets have been provisioned successfully
+     *
+     * @return a {@link Boolean}
+     */
+    public boolean isProvisioned() {
+        return this.completion.isDone() && !this.completion.isCompletedExceptionally();
+    }
+
+    /**
+     * Check whether the provisioning is over, successfully or not
+     *
+     * @return a {@link Boolean}
+     */
+    public boolean isDone() {
+        return this.completion.isDone();
+    }
+
+    /**
+     * Get the failures of the provisioning
+     *
+     * @return the {@link List} of {@link BucketCreationException}
+     */
+    public List<BucketCreationException> getErrors() {
+        return new ArrayList<>(this.errors);
+    }
+
+    /**
+     * Create a bucket
+     *
+     * @param bucketConfiguration: the {@link MinioBucket} containing bucket configuration
+     * @throws BucketCreationException if something goes wrong during the bucket creation
+     */
+    private void createBucket(MinioBucket bucketConfiguration) throws BucketCreationException {
+        try {
+            if (!this.bucketExists(bucketConfiguration.getName())) {
+                // Bucket creation
+                this.client.makeBucket(MakeBucketArgs.builder()
+                        .bucket(bucketConfiguration.getName())
+                        .objectLock(this.getObjectLock(bucketConfiguration))
+                        .build());
+
+                // Versioning configuration
+                final VersioningConfiguration versioningConfiguration = this.getVersioningConfiguration(bucketConfiguration);
+                if (versioningConfiguration != null) {
+                    this.client.setBucketVersioning(SetBucketVersioningArgs.builder()
+                            .bucket(bucketConfiguration.getName())
+                            .config(versioningConfiguration)
+                            .build());
+                }
+
+                // Object Locking configuration
+                final ObjectLockConfiguration objectLockConfiguration = this.getObjectLockConfiguration(bucketConfiguration);
+                if (objectLockConfiguration != null) {
+                    this.client.setObjectLockConfiguration(SetObjectLockConfigurationArgs.builder()
+                            .bucket(bucketConfiguration.getName())
+                            .config(objectLockConfiguration)
+                            .build());
+                }
+
+                // Bucket policies configuration
+                final List<String> policiesConfiguration = bucketConfiguration.getPolicies();
+                policiesConfiguration.forEach(LambdaExceptionUtils.handleConsumerException(policyConfiguration -> this.client.setBucketPolicy(SetBucketPolicyArgs.builder()
+                        .bucket(bucketConfiguration.getName())
+                        .config(policyConfiguration)
+                        .build()), Exception.class));
+            }
+        } catch (Exception ex) {
+            throw new BucketCreationException(bucketConfiguration.getName(), ex);
+        }
+    }
+
+    /**
+     * Check whether a bucket exists or not
+     *
+     * @param bucketName: the name of the bucket to check
+     * @return the result as {@link Boolean}
+     */
+    private boolean bucketExists(String bucketName) {
+        try {
+            return this.client.bucketExists(BucketExistsArgs.builder()
+                    .bucket(bucketName)
+                    .build());
+        } catch (Exception ex) {
+            throw new MinioRequestException("BucketExists", ex);
+        }
+    }
+
+    /**
+     * Check if Versioning is enabled
+     *
+     * @param bucketConfiguration: the {@link MinioBucket} configuration
+     * @return a {@link Boolean}
+     */
+    private VersioningConfiguration getVersioningConfiguration(MinioBucket bucketConfiguration) {
+        return bucketConfiguration.isVersioning() || this.getObjectLock(bucketConfiguration) ?
+                new VersioningConfiguration(VersioningConfiguration.Status.ENABLED, false) :
+                null;
+    }
+
+    /**
+     * Check if Object locking is enabled
+     *
+     * @param bucketConfiguration: the {@link MinioBucket} configuration
+     * @return a {@link Boolean}
+     */
+    private boolean getObjectLock(MinioBucket bucketConfiguration) {
+        return bucketConfiguration.isObjectLocking() || bucketConfiguration.getRetention().isEnabled();
+    }
+
+    /**
+     * Check if Versioning is enabled
+     *
+     * @param bucketConfiguration: the {@link MinioBucket} configuration
+     * @return a {@link Boolean}
+     */
+    private ObjectLockConfiguration getObjectLockConfiguration(MinioBucket bucketConfiguration) {
+        final boolean enabled = bucketConfiguration.getRetention().isEnabled();
+
+        if(enabled) {
+            final RetentionMode mode = this.getRetentionMode(bucketConfiguration.getRetention().getMode());
+            final RetentionDuration duration = this.getMinioRetentionDuration(bucketConfiguration);
+            return mode != null && duration != null ? new ObjectLockConfiguration(mode, duration) : null;
+        }
+        return null;
+    }
+
+    /**
+     * Get the {@link RetentionDuration}
+     *
+     * @param bucketConfiguration: the {@link MinioBucket} configuration
+     * @return the {@link RetentionDuration}
+     */
+    private RetentionDuration getMinioRetentionDuration(MinioBucket bucketConfiguration) {
+        MinioBucketRetentionDuration duration = bucketConfiguration.getRetention().getDuration();
+
+        if(duration != null) {
+            return switch (bucketConfiguration.getRetention().getDuration().getUnit()) {
+                case "YEARS" -> new RetentionDurationYears(duration.getValue());
+                case "DAYS" -> new RetentionDurationDays(duration.getValue());
+                default -> null;
+            };
+        }
+
+        return null;
+    }
+
+    /**
+     * Get the {@link RetentionMode}
+     *
+     * @param mode: the retention mode as {@link String}
+     * @return the {@link RetentionMode}
+     */
+    private RetentionMode getRetentionMode(String mode) {
+        if(mode == null) {
+            return null;
+        }
+
+        return switch (mode) {
+            case "GOVERNANCE" -> RetentionMode.GOVERNANCE;
+            case "COMPLIANCE" -> RetentionMode.COMPLIANCE;
+            default -> null;
+        };
+    }
+}
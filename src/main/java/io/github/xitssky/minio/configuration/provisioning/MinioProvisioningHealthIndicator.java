@@ -0,0 +1,33 @@
+package io.github.xitssky.minio.configuration.provisioning;
+
+import io.github.xitssky.minio.exception.BucketCreationException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.AbstractHealthIndicator;
+import org.springframework.boot.actuate.health.Health;
+
+/**
+ * The health indicator of the background bucket provisioning, to include in the readiness group so that no traffic is
+ * received before the buckets exist. It is out of service while the provisioning runs, and down if it failed.
+ *
+ * @author quentin
+ */
+@RequiredArgsConstructor
+public class MinioProvisioningHealthIndicator extends AbstractHealthIndicator {
+    private final MinioBucketProvisioner provisioner;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void doHealthCheck(Health.Builder builder) {
+        if (!this.provisioner.isDone()) {
+            builder.outOfService();
+        } else if (this.provisioner.isProvisioned()) {
+            builder.up();
+        } else {
+            builder.down().withDetail("errors", this.provisioner.getErrors().stream()
+                    .map(BucketCreationException::getMessage)
+                    .toList());
+        }
+    }
+}
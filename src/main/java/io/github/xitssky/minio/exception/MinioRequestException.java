@@ -28,4 +28,15 @@ public class MinioRequestException extends RuntimeException {
     public MinioRequestException(String request) {
         super(MessageFormat.format(MESSAGE, request));
     }
+
+    /**
+     * Constructor
+     *
+     * @param request:            the Minio request that fail
+     * @param cause:              the cause of the failure, null if none
+     * @param writableStackTrace: whether the stack trace is captured or not, false for the expected failures
+     */
+    public MinioRequestException(String request, Throwable cause, boolean writableStackTrace) {
+        super(MessageFormat.format(MESSAGE, request), cause, true, writableStackTrace);
+    }
 }
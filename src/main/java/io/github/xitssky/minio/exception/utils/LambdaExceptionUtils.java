@@ -3,6 +3,8 @@ package io.github.xitssky.minio.exception.utils;
 import lombok.experimental.UtilityClass;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
@@ -55,4 +57,18 @@ public class LambdaExceptionUtils {
             }
         };
     }
+
+    /**
+     * Get the cause of a failure wrapped by an asynchronous execution
+     *
+     * @param throwable: the {@link Throwable} to unwrap
+     * @return the cause of the failure
+     */
+    public static Throwable unwrap(Throwable throwable) {
+        Throwable cause = throwable;
+        while ((cause instanceof ExecutionException || cause instanceof CompletionException) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
 }
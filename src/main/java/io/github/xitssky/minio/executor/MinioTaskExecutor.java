@@ -0,0 +1,123 @@
+package io.github.xitssky.minio.executor;
+
+import io.github.xitssky.minio.configuration.properties.MinioExecution;
+import io.github.xitssky.minio.exception.InvalidMinioConfigurationException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The bounded executor running the parallel and bulk Minio operations of the starter. It runs the tasks either on a
+ * fixed pool of platform threads, or on a virtual thread per task with the number of running tasks capped by a
+ * {@link Semaphore}.
+ *
+ * @author quentin
+ */
+@Slf4j
+public class MinioTaskExecutor implements AutoCloseable {
+    private static final String THREAD_PREFIX = "minio-task-";
+
+    private final ExecutorService executorService;
+
+    /**
+     * The cap of the running tasks, null when the pool size already bounds them
+     */
+    private final Semaphore concurrency;
+
+    /**
+     * Constructor
+     *
+     * @param threads: the number of threads of the executor
+     */
+    public MinioTaskExecutor(int threads) {
+        this.executorService = Executors.newFixedThreadPool(threads, daemonThreadFactory());
+        this.concurrency = null;
+    }
+
+    /**
+     * Constructor
+     *
+     * @param configuration: the {@link MinioExecution} configuration
+     * @throws InvalidMinioConfigurationException if virtual threads are enabled on a Java version without them
+     */
+    public MinioTaskExecutor(MinioExecution configuration) throws InvalidMinioConfigurationException {
+        if (configuration.isVirtualThreads()) {
+            this.executorService = newVirtualThreadPerTaskExecutor();
+            this.concurrency = new Semaphore(configuration.getMaxConcurrency());
+        } else {
+            this.executorService = Executors.newFixedThreadPool(configuration.getThreads(), daemonThreadFactory());
+            this.concurrency = null;
+        }
+    }
+
+    /**
+     * Run a task on the executor
+     *
+     * @param task: the {@link Callable} to run
+     * @param <T>:  the result type of the task
+     * @return the result of the task as a {@link CompletableFuture}
+     */
+    public <T> CompletableFuture<T> submit(Callable<T> task) {
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        this.executorService.execute(() -> {
+            try {
+                // Wait on the task thread so that the caller is never blocked by the cap
+                if (this.concurrency != null) {
+                    this.concurrency.acquire();
+                }
+                try {
+                    future.complete(task.call());
+                } finally {
+                    if (this.concurrency != null) {
+                        this.concurrency.release();
+                    }
+                }
+            } catch (Throwable ex) {
+                future.completeExceptionally(ex);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Stop accepting new tasks, the running ones are left to complete
+     */
+    @Override
+    public void close() {
+        this.executorService.shutdown();
+    }
+
+    /**
+     * Get a {@link ThreadFactory} creating named daemon threads
+     *
+     * @return the {@link ThreadFactory}
+     */
+    private static ThreadFactory daemonThreadFactory() {
+        final AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            final Thread thread = new Thread(runnable, THREAD_PREFIX + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Get a virtual thread per task executor. It is looked up at runtime since the starter is built for Java 17.
+     *
+     * @return the {@link ExecutorService}
+     * @throws InvalidMinioConfigurationException if the running Java version has no virtual threads
+     */
+    private static ExecutorService newVirtualThreadPerTaskExecutor() throws InvalidMinioConfigurationException {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException ex) {
+            throw new InvalidMinioConfigurationException("execution.virtualThreads", "false on Java versions before 21");
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package io.github.xitssky.minio.observation;
+
+import io.github.xitssky.minio.client.MinioHttpClientStatistics;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * The Micrometer gauges of the connection pool and of the dispatcher shared by the Minio clients, so that their
+ * saturation is published with the other metrics of the application
+ *
+ * @author quentin
+ */
+public class MinioHttpClientMetrics {
+    public static final String CONNECTIONS_METRIC = "minio.http.connections";
+    public static final String IDLE_CONNECTIONS_METRIC = "minio.http.connections.idle";
+    public static final String RUNNING_REQUESTS_METRIC = "minio.http.requests.running";
+    public static final String QUEUED_REQUESTS_METRIC = "minio.http.requests.queued";
+
+    private final MinioHttpClientStatistics statistics;
+
+    /**
+     * Constructor, registering the gauges
+     *
+     * @param statistics:    the {@link MinioHttpClientStatistics} of the shared HTTP client
+     * @param meterRegistry: the {@link MeterRegistry} of the gauges
+     */
+    public MinioHttpClientMetrics(MinioHttpClientStatistics statistics, MeterRegistry meterRegistry) {
+        // The registry only keeps a weak reference to the statistics, held by this bean
+        this.statistics = statistics;
+
+        Gauge.builder(CONNECTIONS_METRIC, this.statistics, MinioHttpClientStatistics::getConnectionCount)
+                .description("The open connections of the Minio clients")
+                .register(meterRegistry);
+        Gauge.builder(IDLE_CONNECTIONS_METRIC, this.statistics, MinioHttpClientStatistics::getIdleConnectionCount)
+                .description("The idle connections of the Minio clients")
+                .register(meterRegistry);
+        Gauge.builder(RUNNING_REQUESTS_METRIC, this.statistics, MinioHttpClientStatistics::getRunningRequestCount)
+                .description("The requests of the Minio clients in flight")
+                .register(meterRegistry);
+        Gauge.builder(QUEUED_REQUESTS_METRIC, this.statistics, MinioHttpClientStatistics::getQueuedRequestCount)
+                .description("The requests of the Minio clients waiting for the dispatcher limits")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Get the statistics published by the gauges
+     *
+     * @return the {@link MinioHttpClientStatistics}
+     */
+    public MinioHttpClientStatistics getStatistics() {
+        return this.statistics;
+    }
+}
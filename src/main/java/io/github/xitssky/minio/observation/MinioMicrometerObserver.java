@@ -0,0 +1,66 @@
+package io.github.xitssky.minio.observation;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import lombok.RequiredArgsConstructor;
+
+import java.util.function.Supplier;
+
+/**
+ * The {@link MinioObserver} built on Micrometer. Each operation is an {@link Observation}, which the registry handlers
+ * turn into a timer, an in-flight long task timer and a tracing span. The transferred bytes are recorded in a
+ * {@link DistributionSummary}.
+ *
+ * @author quentin
+ */
+@RequiredArgsConstructor
+public class MinioMicrometerObserver implements MinioObserver {
+    public static final String OPERATION_METRIC = "minio.operation";
+    public static final String BYTES_METRIC = "minio.operation.bytes";
+
+    private static final String OPERATION = "operation";
+    private static final String BUCKET = "bucket";
+    private static final String OUTCOME = "outcome";
+    private static final String NONE = "none";
+
+    private final ObservationRegistry observationRegistry;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T> T observe(String operation, String bucket, Supplier<T> call) {
+        final Observation observation = Observation.createNotStarted(OPERATION_METRIC, this.observationRegistry)
+                .contextualName("minio " + operation)
+                .lowCardinalityKeyValue(OPERATION, operation)
+                .lowCardinalityKeyValue(BUCKET, bucket != null ? bucket : NONE);
+
+        // Started, scoped, failed and stopped by the observation, the outcome being known before it stops
+        return observation.observe(() -> {
+            try {
+                final T result = call.get();
+                observation.lowCardinalityKeyValue(OUTCOME, "SUCCESS");
+                return result;
+            } catch (RuntimeException | Error ex) {
+                observation.lowCardinalityKeyValue(OUTCOME, "ERROR");
+                throw ex;
+            }
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void recordBytes(String operation, String bucket, long bytes) {
+        DistributionSummary.builder(BYTES_METRIC)
+                .baseUnit("bytes")
+                .tag(OPERATION, operation)
+                .tag(BUCKET, bucket)
+                .register(this.meterRegistry)
+                .record(bytes);
+    }
+}
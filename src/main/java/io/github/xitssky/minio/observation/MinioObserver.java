@@ -0,0 +1,45 @@
+package io.github.xitssky.minio.observation;
+
+import java.util.function.Supplier;
+
+/**
+ * The observer of the Minio operations, measuring their latency, outcome and transferred bytes
+ *
+ * @author quentin
+ */
+public interface MinioObserver {
+
+    /**
+     * Observe an operation
+     *
+     * @param operation: the name of the operation
+     * @param bucket:    the name of the bucket, null if the operation is not bound to a bucket
+     * @param call:      the {@link Supplier} running the operation
+     * @param <T>:       the result type of the operation
+     * @return the result of the operation
+     */
+    <T> T observe(String operation, String bucket, Supplier<T> call);
+
+    /**
+     * Observe an operation without result
+     *
+     * @param operation: the name of the operation
+     * @param bucket:    the name of the bucket, null if the operation is not bound to a bucket
+     * @param call:      the {@link Runnable} running the operation
+     */
+    default void observe(String operation, String bucket, Runnable call) {
+        this.observe(operation, bucket, () -> {
+            call.run();
+            return null;
+        });
+    }
+
+    /**
+     * Record the bytes transferred by an operation
+     *
+     * @param operation: the name of the operation
+     * @param bucket:    the name of the bucket
+     * @param bytes:     the number of bytes
+     */
+    void recordBytes(String operation, String bucket, long bytes);
+}
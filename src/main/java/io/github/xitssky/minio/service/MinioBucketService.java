@@ -4,6 +4,7 @@ import io.github.xitssky.minio.exception.MinioRequestException;
 import io.minio.messages.Bucket;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * The Minio Bucket Service
@@ -37,6 +38,15 @@ public interface MinioBucketService {
      */
     Bucket findBucket(String bucket) throws MinioRequestException;
 
+    /**
+     * Get a bucket from Minio, without failing if it does not exist
+     *
+     * @param bucket: the bucket name
+     * @return the {@link Bucket}, empty if it does not exist
+     * @throws MinioRequestException if GetBucket request fail
+     */
+    Optional<Bucket> tryFindBucket(String bucket) throws MinioRequestException;
+
     /**
      * Create a Bucket
      *
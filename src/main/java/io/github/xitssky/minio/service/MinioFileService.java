@@ -1,11 +1,23 @@
 package io.github.xitssky.minio.service;
 
 import io.github.xitssky.minio.exception.MinioRequestException;
+import io.github.xitssky.minio.service.model.MinioListRequest;
+import io.github.xitssky.minio.service.model.MinioObjectError;
+import io.github.xitssky.minio.service.model.MinioStatResult;
 import io.minio.StatObjectResponse;
+import io.minio.messages.Item;
 
 import java.io.File;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * The Minio File Service
@@ -22,6 +34,35 @@ public interface MinioFileService {
      */
     StatObjectResponse getFileInformation(String filename, String bucket) throws MinioRequestException;
 
+    /**
+     * Get the file information, without failing if the file does not exist
+     *
+     * @param filename: the filename
+     * @param bucket:   the name of the bucket on which the file is
+     * @return information as the {@link StatObjectResponse}, empty if the file does not exist
+     * @throws MinioRequestException if information request fail for another reason than a missing file
+     */
+    Optional<StatObjectResponse> findFileInformation(String filename, String bucket) throws MinioRequestException;
+
+    /**
+     * Get the information of many files, sending the requests in parallel. The missing files are not failures.
+     *
+     * @param filenames: the filenames
+     * @param bucket:    the name of the bucket on which the files are
+     * @return the {@link MinioStatResult} of each file, by filename
+     */
+    Map<String, MinioStatResult> statAll(Collection<String> filenames, String bucket);
+
+    /**
+     * Check whether many files exist, sending the requests in parallel or listing their common prefix when cheaper
+     *
+     * @param filenames: the filenames
+     * @param bucket:    the name of the bucket on which the files are
+     * @return whether each file exists, by filename
+     * @throws MinioRequestException if a lookup fail for another reason than a missing file
+     */
+    Map<String, Boolean> existsAll(Collection<String> filenames, String bucket) throws MinioRequestException;
+
     /**
      * Download a file from Minio
      *
@@ -32,6 +73,16 @@ public interface MinioFileService {
      */
     InputStream download(String filename, String bucket) throws MinioRequestException;
 
+    /**
+     * Download a file, without failing if the file does not exist
+     *
+     * @param filename: the filename
+     * @param bucket:   the bucket name
+     * @return the file as {@link InputStream}, empty if the file does not exist
+     * @throws MinioRequestException if download request fail for another reason than a missing file
+     */
+    Optional<InputStream> tryDownload(String filename, String bucket) throws MinioRequestException;
+
     /**
      * Download a file from Minio
      *
@@ -43,6 +94,28 @@ public interface MinioFileService {
      */
     File download(String path, String filename, String bucket) throws MinioRequestException;
 
+    /**
+     * Download a range of a file
+     *
+     * @param filename: the filename
+     * @param bucket:   the bucket name
+     * @param offset:   the position of the first byte to download
+     * @param length:   the number of bytes to download
+     * @return the range as {@link InputStream}
+     * @throws MinioRequestException if download request fail
+     */
+    InputStream download(String filename, String bucket, long offset, long length) throws MinioRequestException;
+
+    /**
+     * Open a file as a read-only {@link SeekableByteChannel}, only downloading the read blocks
+     *
+     * @param filename: the filename
+     * @param bucket:   the bucket name
+     * @return the {@link SeekableByteChannel}
+     * @throws MinioRequestException if the file information request fail
+     */
+    SeekableByteChannel open(String filename, String bucket) throws MinioRequestException;
+
     /**
      * Upload a file to Minio
      *
@@ -64,6 +137,114 @@ public interface MinioFileService {
      */
     void upload(File file, String filename, String bucket) throws MinioRequestException;
 
+    /**
+     * Upload a stream of unknown length to Minio. The stream is sent in parts of the configured size so only one
+     * part is held in memory at a time. The stream is not closed.
+     *
+     * @param stream:   the {@link InputStream} to upload
+     * @param filename: the filename
+     * @param bucket:   the name of the bucket on which upload the file
+     * @param metadata: the user metadata as {@link Map} of {@link String}
+     * @throws MinioRequestException if upload request fail
+     */
+    void upload(InputStream stream, String filename, String bucket, Map<String, String> metadata) throws MinioRequestException;
+
+    /**
+     * Upload a stream of unknown length to Minio. The stream is not closed.
+     *
+     * @param stream:   the {@link InputStream} to upload
+     * @param filename: the filename
+     * @param bucket:   the name of the bucket on which upload the file
+     * @throws MinioRequestException if upload request fail
+     */
+    void upload(InputStream stream, String filename, String bucket) throws MinioRequestException;
+
+    /**
+     * Upload the content of a channel of unknown length to Minio. The channel is not closed.
+     *
+     * @param channel:  the {@link ReadableByteChannel} to upload
+     * @param filename: the filename
+     * @param bucket:   the name of the bucket on which upload the file
+     * @param metadata: the user metadata as {@link Map} of {@link String}
+     * @throws MinioRequestException if upload request fail
+     */
+    void upload(ReadableByteChannel channel, String filename, String bucket, Map<String, String> metadata) throws MinioRequestException;
+
+    /**
+     * Upload the content of a channel of unknown length to Minio. The channel is not closed.
+     *
+     * @param channel:  the {@link ReadableByteChannel} to upload
+     * @param filename: the filename
+     * @param bucket:   the name of the bucket on which upload the file
+     * @throws MinioRequestException if upload request fail
+     */
+    void upload(ReadableByteChannel channel, String filename, String bucket) throws MinioRequestException;
+
+    /**
+     * Upload a content held in memory to Minio
+     *
+     * @param content:  the content to upload
+     * @param filename: the filename
+     * @param bucket:   the name of the bucket on which upload the file
+     * @param metadata: the user metadata as {@link Map} of {@link String}
+     * @throws MinioRequestException if upload request fail
+     */
+    void upload(byte[] content, String filename, String bucket, Map<String, String> metadata) throws MinioRequestException;
+
+    /**
+     * Upload a content held in memory to Minio
+     *
+     * @param content:  the content to upload
+     * @param filename: the filename
+     * @param bucket:   the name of the bucket on which upload the file
+     * @throws MinioRequestException if upload request fail
+     */
+    void upload(byte[] content, String filename, String bucket) throws MinioRequestException;
+
+    /**
+     * Upload the remaining bytes of a buffer to Minio. The position of the buffer is left unchanged.
+     *
+     * @param content:  the {@link ByteBuffer} to upload
+     * @param filename: the filename
+     * @param bucket:   the name of the bucket on which upload the file
+     * @param metadata: the user metadata as {@link Map} of {@link String}
+     * @throws MinioRequestException if upload request fail
+     */
+    void upload(ByteBuffer content, String filename, String bucket, Map<String, String> metadata) throws MinioRequestException;
+
+    /**
+     * Upload the remaining bytes of a buffer to Minio. The position of the buffer is left unchanged.
+     *
+     * @param content:  the {@link ByteBuffer} to upload
+     * @param filename: the filename
+     * @param bucket:   the name of the bucket on which upload the file
+     * @throws MinioRequestException if upload request fail
+     */
+    void upload(ByteBuffer content, String filename, String bucket) throws MinioRequestException;
+
+    /**
+     * Upload a file under the SHA-256 digest of its content, unless a file with the same content already exists
+     *
+     * @param file:     the file to upload
+     * @param bucket:   the bucket name
+     * @param metadata: the optional metadata to add to the file, along with its digest
+     * @return the filename of the content on the bucket
+     * @throws MinioRequestException if upload request fail
+     */
+    String uploadDeduplicated(File file, String bucket, Map<String, String> metadata) throws MinioRequestException;
+
+    /**
+     * Upload a stream under the SHA-256 digest of its content, unless a file with the same content already exists. The
+     * stream is hashed while it is copied to a temporary file.
+     *
+     * @param stream:   the {@link InputStream} to upload, left open
+     * @param bucket:   the bucket name
+     * @param metadata: the optional metadata to add to the file, along with its digest
+     * @return the filename of the content on the bucket
+     * @throws MinioRequestException if upload request fail
+     */
+    String uploadDeduplicated(InputStream stream, String bucket, Map<String, String> metadata) throws MinioRequestException;
+
     /**
      * Remove a file from Minio
      *
@@ -72,4 +253,123 @@ public interface MinioFileService {
      * @throws MinioRequestException if deletion request fail
      */
     void remove(String filename, String bucket) throws MinioRequestException;
+
+    /**
+     * Remove many files from Minio. The files are removed by batches of multi-object delete requests sent in parallel,
+     * and a failure does not stop the removal of the other files.
+     *
+     * @param filenames: the filenames, read lazily
+     * @param bucket:    the name of the bucket on which the files are
+     * @return the {@link MinioObjectError} of the files that could not be removed
+     */
+    List<MinioObjectError> removeAll(Iterable<String> filenames, String bucket);
+
+    /**
+     * Remove many files from Minio. The files are removed by batches of multi-object delete requests sent in parallel,
+     * and a failure does not stop the removal of the other files.
+     *
+     * @param filenames: the filenames, consumed lazily
+     * @param bucket:    the name of the bucket on which the files are
+     * @return the {@link MinioObjectError} of the files that could not be removed
+     */
+    List<MinioObjectError> removeAll(Stream<String> filenames, String bucket);
+
+    /**
+     * Copy a file on the Minio server, without transferring its content through the client. The files bigger than 5GB
+     * are copied by a multipart copy.
+     *
+     * @param sourceFilename: the filename of the file to copy
+     * @param sourceBucket:   the name of the bucket on which the file to copy is
+     * @param filename:       the filename of the copy
+     * @param bucket:         the name of the bucket on which copy the file
+     * @throws MinioRequestException if the copy request fail
+     */
+    void copy(String sourceFilename, String sourceBucket, String filename, String bucket) throws MinioRequestException;
+
+    /**
+     * Move a file on the Minio server, by a server side copy followed by the removal of the source file
+     *
+     * @param sourceFilename: the filename of the file to move
+     * @param sourceBucket:   the name of the bucket on which the file to move is
+     * @param filename:       the new filename of the file
+     * @param bucket:         the name of the bucket on which move the file
+     * @throws MinioRequestException if the copy or the removal request fail
+     */
+    void move(String sourceFilename, String sourceBucket, String filename, String bucket) throws MinioRequestException;
+
+    /**
+     * Move many files on the Minio server. The moves run in parallel, and a failure does not stop the other moves.
+     *
+     * @param filenames:    the new filenames by filename of the files to move
+     * @param sourceBucket: the name of the bucket on which the files to move are
+     * @param bucket:       the name of the bucket on which move the files
+     * @return the {@link MinioObjectError} of the files that could not be moved, by source filename
+     */
+    List<MinioObjectError> moveAll(Map<String, String> filenames, String sourceBucket, String bucket);
+
+    /**
+     * Concatenate files into a new file on the Minio server. All the files but the last must be at least 5MB.
+     *
+     * @param sourceFilenames: the filenames of the files to concatenate, in order
+     * @param sourceBucket:    the name of the bucket on which the files to concatenate are
+     * @param filename:        the filename of the concatenated file
+     * @param bucket:          the name of the bucket on which create the concatenated file
+     * @throws MinioRequestException if the compose request fail
+     */
+    void compose(List<String> sourceFilenames, String sourceBucket, String filename, String bucket) throws MinioRequestException;
+
+    /**
+     * Get a presigned url downloading a file directly from the Minio server
+     *
+     * @param filename: the filename
+     * @param bucket:   the bucket name
+     * @param expiry:   the validity of the url, between 1 second and 7 days
+     * @return the presigned url
+     * @throws MinioRequestException if the url cannot be signed
+     */
+    String getPresignedDownloadUrl(String filename, String bucket, Duration expiry) throws MinioRequestException;
+
+    /**
+     * Get a presigned url uploading a file directly to the Minio server with a PUT request
+     *
+     * @param filename: the filename
+     * @param bucket:   the bucket name
+     * @param expiry:   the validity of the url, between 1 second and 7 days
+     * @return the presigned url
+     * @throws MinioRequestException if the url cannot be signed
+     */
+    String getPresignedUploadUrl(String filename, String bucket, Duration expiry) throws MinioRequestException;
+
+    /**
+     * Get the form data of a presigned POST policy uploading a file directly to the Minio server from a browser
+     *
+     * @param filename: the filename
+     * @param bucket:   the bucket name
+     * @param expiry:   the validity of the policy
+     * @param maxSize:  the maximum size of the uploaded file in bytes, 0 for no limit
+     * @return the form fields to send with the file, by name
+     * @throws MinioRequestException if the policy cannot be signed
+     */
+    Map<String, String> getPresignedPostFormData(String filename, String bucket, Duration expiry, long maxSize) throws MinioRequestException;
+
+    /**
+     * List lazily all the files starting with a prefix. The files are fetched page by page, so that only about a page
+     * is held in memory.
+     *
+     * @param prefix: the prefix of the files, all files if null
+     * @param bucket: the name of the bucket on which the files are
+     * @return a {@link Stream} of {@link Item}, to close once consumed
+     * @throws MinioRequestException when consumed, if a listing request fail
+     */
+    Stream<Item> list(String prefix, String bucket) throws MinioRequestException;
+
+    /**
+     * List lazily the files. The files are fetched page by page, so that only about a page is held in memory.
+     *
+     * @param request: the {@link MinioListRequest} options
+     * @param bucket:  the name of the bucket on which the files are
+     * @return a {@link Stream} of {@link Item}, to close once consumed
+     * @throws MinioRequestException when consumed, if a listing request fail
+     */
+    Stream<Item> list(MinioListRequest request, String bucket) throws MinioRequestException;
 }
@@ -1,20 +1,77 @@
 package io.github.xitssky.minio.service;
 
+import io.github.xitssky.minio.configuration.properties.MinioConfigurationProperties;
+import io.github.xitssky.minio.configuration.properties.MinioDownload;
+import io.github.xitssky.minio.configuration.properties.MinioStat;
 import io.github.xitssky.minio.exception.MinioRequestException;
+import io.github.xitssky.minio.exception.utils.LambdaExceptionUtils;
+import io.github.xitssky.minio.executor.MinioTaskExecutor;
+import io.github.xitssky.minio.observation.MinioObserver;
+import io.github.xitssky.minio.service.cache.MinioBucketCache;
+import io.github.xitssky.minio.service.cache.MinioDigestIndex;
+import io.github.xitssky.minio.service.cache.MinioDiskCache;
+import io.github.xitssky.minio.service.cache.MinioMetadataCache;
+import io.github.xitssky.minio.service.cache.MinioPresignedUrlCache;
+import io.github.xitssky.minio.service.compression.MinioCompression;
+import io.github.xitssky.minio.service.io.ByteBufferInputStream;
+import io.github.xitssky.minio.service.io.CountingInputStream;
+import io.github.xitssky.minio.service.io.MinioObjectChannel;
+import io.github.xitssky.minio.service.listing.MinioObjectLister;
+import io.github.xitssky.minio.service.model.MinioListRequest;
+import io.github.xitssky.minio.service.model.MinioObjectError;
+import io.github.xitssky.minio.service.model.MinioStatResult;
+import io.github.xitssky.minio.service.retry.MinioHedgedReader;
+import io.github.xitssky.minio.service.retry.MinioRetryPolicy;
+import io.github.xitssky.minio.service.transfer.MinioMultipartUploader;
+import io.github.xitssky.minio.service.transfer.MinioRangedDownloader;
 import io.minio.*;
+import io.minio.http.Method;
 import io.minio.messages.Bucket;
+import io.minio.messages.DeleteError;
+import io.minio.messages.DeleteObject;
+import io.minio.messages.Item;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.util.FileCopyUtils;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * The {@link MinioService} use to interact with Minio
@@ -24,18 +81,100 @@ import java.util.Optional;
 @Slf4j
 @RequiredArgsConstructor
 public class MinioService implements MinioBucketService, MinioFileService {
+    private static final long UNKNOWN_SIZE = -1;
+    private static final String DIGEST_METADATA = "sha256";
+    private static final String CHECKSUM_HEADER = "x-amz-checksum-sha256";
+    private static final long MAPPED_REGION_SIZE = 256L * 1024 * 1024;
+
     private final MinioClient minioClient;
+    private final MinioConfigurationProperties properties;
+
+    /**
+     * The executor running the bulk operations, null to run them on the calling thread
+     */
+    private final MinioTaskExecutor taskExecutor;
+
+    /**
+     * The engine used to upload the big files in parallel, null to upload them with a single request
+     */
+    private final MinioMultipartUploader multipartUploader;
+
+    /**
+     * The engine used to download the big objects to files in parallel, null to download them with a single request
+     */
+    private final MinioRangedDownloader rangedDownloader;
+
+    /**
+     * The lister prefetching the pages of a listing, null to fetch them on demand
+     */
+    private final MinioObjectLister objectLister;
+
+    /**
+     * The cache of the bucket lookups, null to send every lookup to Minio
+     */
+    private final MinioBucketCache bucketCache;
+
+    /**
+     * The cache of the file information, null to send every lookup to Minio
+     */
+    private final MinioMetadataCache metadataCache;
+
+    /**
+     * The local disk cache of the downloads, null to download every file from Minio
+     */
+    private final MinioDiskCache diskCache;
+
+    /**
+     * The cache of the presigned urls, null to sign every url
+     */
+    private final MinioPresignedUrlCache presignedUrlCache;
+
+    /**
+     * The observer of the operations, null to leave them unobserved
+     */
+    private final MinioObserver observer;
+
+    /**
+     * The retry policy of the idempotent requests, null to send them only once
+     */
+    private final MinioRetryPolicy retryPolicy;
+
+    /**
+     * The engine hedging the slow reads, null to send them only once
+     */
+    private final MinioHedgedReader hedgedReader;
+
+    /**
+     * The compression of the files of each bucket, null to neither compress nor decompress the files
+     */
+    private final MinioCompression compression;
+
+    /**
+     * The local index of the content addressed files known to exist, null to check Minio on every upload
+     */
+    private final MinioDigestIndex digestIndex;
+
+    /**
+     * Constructor using the default configuration
+     *
+     * @param minioClient: the {@link MinioClient}
+     */
+    public MinioService(MinioClient minioClient) {
+        this(minioClient, new MinioConfigurationProperties(), null, null, null, null, null, null, null, null, null, null, null, null, null);
+    }
 
     /**
      * {@inheritDoc}
      */
     @Override
     public List<Bucket> findAllBuckets() throws MinioRequestException {
-        try {
-            return this.minioClient.listBuckets();
-        } catch (Exception ex) {
-            throw new MinioRequestException("findAllBuckets", ex);
-        }
+        return this.observe("findAllBuckets", null, () -> {
+            try {
+                return this.retry(this.minioClient::listBuckets);
+            } catch (Exception ex) {
+                throw new MinioRequestException("findAllBuckets", ex);
+            }
+        });
     }
 
     /**
@@ -43,21 +182,44 @@ public class MinioService implements MinioBucketService, MinioFileService {
      */
     @Override
     public boolean bucketExists(String bucket) throws MinioRequestException {
-        try {
-            return this.minioClient.bucketExists(BucketExistsArgs.builder()
-                    .bucket(bucket)
-                    .build());
-        } catch (Exception ex) {
-            throw new MinioRequestException("GetAllBuckets", ex);
-        }
+        return this.observe("GetAllBuckets", bucket, () -> {
+            if (this.bucketCache != null) {
+                return this.bucketCache.exists(bucket);
+            }
+
+            try {
+                return this.retry(() -> this.minioClient.bucketExists(BucketExistsArgs.builder()
+                        .bucket(bucket)
+                        .build()));
+            } catch (Exception ex) {
+                throw new MinioRequestException("GetAllBuckets", ex);
+            }
+        });
     }
 
+    /**
+     * {@inheritDoc}
+     */
     @Override
     public Bucket findBucket(String bucket) throws MinioRequestException {
-        return this.findAllBuckets().stream()
-                .filter(b -> b.name().equals(bucket))
-                .findAny()
-                .orElseThrow(() -> new MinioRequestException("GetBucket"));
+        return this.tryFindBucket(bucket)
+                .orElseThrow(() -> new MinioRequestException("GetBucket", null, false));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<Bucket> tryFindBucket(String bucket) throws MinioRequestException {
+        return this.observe("GetBucket", bucket, () -> {
+            if (this.bucketCache != null) {
+                return this.bucketCache.find(bucket);
+            }
+
+            return this.findAllBuckets().stream()
+                    .filter(b -> b.name().equals(bucket))
+                    .findAny();
+        });
     }
 
     /**
@@ -65,14 +227,17 @@ public class MinioService implements MinioBucketService, MinioFileService {
      */
     @Override
     public Bucket createBucket(String bucket) throws MinioRequestException {
-        try {
-            this.minioClient.makeBucket(MakeBucketArgs.builder()
-                    .bucket(bucket)
-                    .build());
-            return this.findBucket(bucket);
-        } catch (Exception ex) {
-            throw new MinioRequestException("CreateBucket", ex);
-        }
+        return this.observe("CreateBucket", bucket, () -> {
+            try {
+                this.minioClient.makeBucket(MakeBucketArgs.builder()
+                        .bucket(bucket)
+                        .build());
+                this.invalidateBucket(bucket);
+                return this.findBucket(bucket);
+            } catch (Exception ex) {
+                throw new MinioRequestException("CreateBucket", ex);
+            }
+        });
     }
 
     /**
@@ -80,25 +245,89 @@ public class MinioService implements MinioBucketService, MinioFileService {
      */
     @Override
     public void removeBucket(String bucket) throws MinioRequestException {
-        try {
-            this.minioClient.removeBucket(RemoveBucketArgs.builder()
-                    .bucket(bucket)
-                    .build());
-        } catch (Exception ex) {
-            throw new MinioRequestException("RemoveBucket", ex);
-        }
+        this.observe("RemoveBucket", bucket, () -> {
+            try {
+                this.minioClient.removeBucket(RemoveBucketArgs.builder()
+                        .bucket(bucket)
+                        .build());
+            } catch (Exception ex) {
+                throw new MinioRequestException("RemoveBucket", ex);
+            } finally {
+                this.invalidateBucket(bucket);
+            }
+        });
     }
 
+    /**
+     * {@inheritDoc}
+     */
     @Override
     public StatObjectResponse getFileInformation(String filename, String bucket) throws MinioRequestException {
-        try {
-            return this.minioClient.statObject(StatObjectArgs.builder()
-                    .bucket(bucket)
-                    .object(filename)
-                    .build());
-        } catch (Exception ex) {
-            throw new MinioRequestException("GetFileInformation", ex);
-        }
+        return this.observe("GetFileInformation", bucket, () -> {
+            if (this.metadataCache != null) {
+                return this.metadataCache.get(filename, bucket, () -> this.statObject(filename, bucket));
+            }
+
+            try {
+                return this.statObject(filename, bucket);
+            } catch (Exception ex) {
+                throw this.requestException("GetFileInformation", ex);
+            }
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<StatObjectResponse> findFileInformation(String filename, String bucket) throws MinioRequestException {
+        return this.observe("GetFileInformation", bucket, () -> {
+            if (this.metadataCache != null) {
+                return this.metadataCache.find(filename, bucket, () -> this.statObject(filename, bucket));
+            }
+
+            try {
+                return Optional.of(this.statObject(filename, bucket));
+            } catch (Exception ex) {
+                if (MinioStatResult.isNotFound(ex)) {
+                    return Optional.empty();
+                }
+                throw new MinioRequestException("GetFileInformation", ex);
+            }
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, MinioStatResult> statAll(Collection<String> filenames, String bucket) {
+        return this.observe("GetFilesInformation", bucket, () -> this.statAll(filenames, bucket, null));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, Boolean> existsAll(Collection<String> filenames, String bucket) throws MinioRequestException {
+        return this.observe("ExistFiles", bucket, () -> {
+            final Map<String, Boolean> exists = new HashMap<>();
+            final Set<String> remaining = new HashSet<>(filenames);
+            final MinioStat configuration = this.properties.getStat();
+            if (configuration.isListing() && remaining.size() >= configuration.getListingThreshold()) {
+                this.listExisting(remaining, bucket, exists);
+            }
+
+            final ConcurrentLinkedQueue<Throwable> failures = new ConcurrentLinkedQueue<>();
+            this.statAll(remaining, bucket, failures)
+                    .forEach((filename, result) -> exists.put(filename, result.isFound()));
+            if (!failures.isEmpty()) {
+                final MinioRequestException exception = new MinioRequestException("ExistFiles", failures.poll());
+                failures.forEach(exception::addSuppressed);
+                throw exception;
+            }
+            return exists;
+        });
     }
 
     /**
@@ -106,13 +335,27 @@ public class MinioService implements MinioBucketService, MinioFileService {
      */
     @Override
     public InputStream download(String filename, String bucket) throws MinioRequestException {
+        if (this.observer == null) {
+            return this.getObject(filename, bucket);
+        }
+
+        // The bytes are counted while the caller reads the stream
+        final InputStream stream = this.observe("Download", bucket, () -> this.getObject(filename, bucket));
+        return new CountingInputStream(stream, bytes -> this.observer.recordBytes("Download", bucket, bytes));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<InputStream> tryDownload(String filename, String bucket) throws MinioRequestException {
         try {
-            return this.minioClient.getObject(GetObjectArgs.builder()
-                    .bucket(bucket)
-                    .object(filename)
-                    .build());
-        } catch (Exception ex) {
-            throw new MinioRequestException("Download", ex);
+            return Optional.of(this.download(filename, bucket));
+        } catch (MinioRequestException ex) {
+            if (ex.getCause() != null && MinioStatResult.isNotFound(ex.getCause())) {
+                return Optional.empty();
+            }
+            throw ex;
         }
     }
 
@@ -121,14 +364,103 @@ public class MinioService implements MinioBucketService, MinioFileService {
      */
     @Override
     public File download(String path, String filename, String bucket) throws MinioRequestException {
-        try (final InputStream inputStream = this.download(filename, bucket)) {
+        final File downloaded = this.observe("Download", bucket, () -> {
+            // Copy the up-to-date cached copy, unless it may have to be decompressed
+            if (this.diskCache != null && !this.isCompressed(bucket)) {
+                final File file = new File(path);
+                try (final FileChannel channel = this.diskCache.open(filename, bucket);
+                     final FileOutputStream outputStream = new FileOutputStream(file, false)) {
+                    long position = 0;
+                    while (position < channel.size()) {
+                        position += channel.transferTo(position, channel.size() - position, outputStream.getChannel());
+                    }
+                    return file;
+                } catch (IOException ex) {
+                    throw new MinioRequestException("Download", ex);
+                }
+            }
+
+            // Download the big objects by ranges fetched in parallel, the small ones pinned to the stat version
+            InputStream content = null;
+            if (this.rangedDownloader != null) {
+                final StatObjectResponse information = this.rangedDownloader.stat(filename, bucket);
+                if (this.rangedDownloader.isRanged(information) && this.getCodec(information.userMetadata()) == null) {
+                    return this.rangedDownloader.download(path, filename, bucket, information);
+                }
+                if (this.diskCache == null) {
+                    final GetObjectResponse response = this.getObject(GetObjectArgs.builder()
+                            .bucket(bucket)
+                            .object(filename)
+                            .versionId(information.versionId())
+                            .matchETag(information.etag())
+                            .build());
+                    content = this.compression != null ?
+                            this.decompress(response, response.headers().get(MinioCompression.HEADER)) :
+                            response;
+                }
+            }
+
             final File file = new File(path);
-            final FileOutputStream outputStream = new FileOutputStream(file, false);
-            FileCopyUtils.copy(inputStream, outputStream);
-            return file;
-        } catch (IOException ex) {
-            throw new MinioRequestException("Download", ex);
+            try (final InputStream inputStream = content != null ? content : this.getObject(filename, bucket);
+                 final FileOutputStream outputStream = new FileOutputStream(file, false)) {
+                inputStream.transferTo(outputStream);
+                return file;
+            } catch (IOException ex) {
+                throw new MinioRequestException("Download", ex);
+            }
+        });
+        if (this.observer != null) {
+            this.recordBytes("Download", bucket, downloaded.length());
+        }
+        return downloaded;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public InputStream download(String filename, String bucket, long offset, long length) throws MinioRequestException {
+        final GetObjectArgs args = GetObjectArgs.builder()
+                .bucket(bucket)
+                .object(filename)
+                .offset(offset)
+                .length(length)
+                .build();
+        if (this.observer == null) {
+            return this.getObject(args);
         }
+
+        final InputStream stream = this.observe("Download", bucket, () -> this.getObject(args));
+        return new CountingInputStream(stream, bytes -> this.observer.recordBytes("Download", bucket, bytes));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public SeekableByteChannel open(String filename, String bucket) throws MinioRequestException {
+        final StatObjectResponse information = this.getFileInformation(filename, bucket);
+        final MinioDownload configuration = this.properties.getDownload();
+
+        // Each block is a ranged GET pinned to the version of the opened file
+        return new MinioObjectChannel(information.size(), Math.toIntExact(configuration.getBlockSize().toBytes()),
+                configuration.getCachedBlocks(), (offset, length) -> {
+            final GetObjectArgs args = GetObjectArgs.builder()
+                    .bucket(bucket)
+                    .object(filename)
+                    .versionId(information.versionId())
+                    .matchETag(information.etag())
+                    .offset(offset)
+                    .length((long) length)
+                    .build();
+            try (final InputStream stream = this.getObject(args)) {
+                final byte[] block = stream.readAllBytes();
+                this.recordBytes("Download", bucket, block.length);
+                return block;
+            } catch (MinioRequestException ex) {
+                throw new IOException(ex.getMessage(), ex);
+            }
+        });
     }
 
     /**
@@ -147,18 +479,835 @@ public class MinioService implements MinioBucketService, MinioFileService {
         this.upload(file.toPath(), filename, bucket, null);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void upload(InputStream stream, String filename, String bucket, Map<String, String> metadata) throws MinioRequestException {
+        this.upload(stream, UNKNOWN_SIZE, filename, bucket, metadata);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void upload(InputStream stream, String filename, String bucket) throws MinioRequestException {
+        this.upload(stream, UNKNOWN_SIZE, filename, bucket, null);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void upload(ReadableByteChannel channel, String filename, String bucket, Map<String, String> metadata) throws MinioRequestException {
+        this.upload(Channels.newInputStream(channel), UNKNOWN_SIZE, filename, bucket, metadata);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void upload(ReadableByteChannel channel, String filename, String bucket) throws MinioRequestException {
+        this.upload(Channels.newInputStream(channel), UNKNOWN_SIZE, filename, bucket, null);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void upload(byte[] content, String filename, String bucket, Map<String, String> metadata) throws MinioRequestException {
+        this.upload(new ByteArrayInputStream(content), content.length, filename, bucket, metadata);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void upload(byte[] content, String filename, String bucket) throws MinioRequestException {
+        this.upload(content, filename, bucket, null);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void upload(ByteBuffer content, String filename, String bucket, Map<String, String> metadata) throws MinioRequestException {
+        this.upload(new ByteBufferInputStream(content), content.remaining(), filename, bucket, metadata);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void upload(ByteBuffer content, String filename, String bucket) throws MinioRequestException {
+        this.upload(content, filename, bucket, null);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String uploadDeduplicated(File file, String bucket, Map<String, String> metadata) throws MinioRequestException {
+        return this.observe("uploadDeduplicated", bucket, () -> {
+            try {
+                return this.uploadDeduplicated(file.toPath(), this.digest(file.toPath()), bucket, metadata);
+            } catch (IOException ex) {
+                throw new MinioRequestException("uploadDeduplicated", ex);
+            }
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String uploadDeduplicated(InputStream stream, String bucket, Map<String, String> metadata) throws MinioRequestException {
+        return this.observe("uploadDeduplicated", bucket, () -> {
+            Path temporary = null;
+            try {
+                temporary = Files.createTempFile("minio-", ".upload");
+
+                // Hash the content while spooling it, the upload reading it from the file
+                final MessageDigest digest = this.newDigest();
+                try (final OutputStream outputStream = Files.newOutputStream(temporary)) {
+                    new DigestInputStream(stream, digest).transferTo(outputStream);
+                }
+                return this.uploadDeduplicated(temporary, digest.digest(), bucket, metadata);
+            } catch (IOException ex) {
+                throw new MinioRequestException("uploadDeduplicated", ex);
+            } finally {
+                if (temporary != null) {
+                    try {
+                        Files.deleteIfExists(temporary);
+                    } catch (IOException ex) {
+                        log.warn("Cannot delete the temporary file {}", temporary, ex);
+                    }
+                }
+            }
+        });
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public void remove(String filename, String bucket) throws MinioRequestException {
+        this.observe("RemoveFile", bucket, () -> {
+            try {
+                this.retry(() -> {
+                    this.minioClient.removeObject(RemoveObjectArgs.builder()
+                            .bucket(bucket)
+                            .object(filename)
+                            .build());
+                    return null;
+                });
+            } catch (Exception ex) {
+                throw new MinioRequestException("RemoveFile", ex);
+            } finally {
+                this.invalidateFile(filename, bucket);
+            }
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<MinioObjectError> removeAll(Iterable<String> filenames, String bucket) {
+        return this.observe("RemoveFiles", bucket, () -> {
+            final int batchSize = Math.min(this.properties.getRemove().getBatchSize(), 1000);
+            final Semaphore inFlight = new Semaphore(this.properties.getRemove().getParallelism());
+            final ConcurrentLinkedQueue<MinioObjectError> errors = new ConcurrentLinkedQueue<>();
+            final List<CompletableFuture<Void>> futures = new ArrayList<>();
+
+            List<String> batch = new ArrayList<>(batchSize);
+            for (String filename : filenames) {
+                batch.add(filename);
+                if (batch.size() == batchSize) {
+                    futures.add(this.removeBatch(batch, bucket, inFlight, errors));
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                futures.add(this.removeBatch(batch, bucket, inFlight, errors));
+            }
+
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+            return new ArrayList<>(errors);
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<MinioObjectError> removeAll(Stream<String> filenames, String bucket) {
+        return this.removeAll(filenames::iterator, bucket);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void copy(String sourceFilename, String sourceBucket, String filename, String bucket) throws MinioRequestException {
+        this.observe("CopyFile", bucket, () -> {
+            try {
+                this.copyObject(sourceFilename, sourceBucket, filename, bucket);
+            } catch (Exception ex) {
+                throw new MinioRequestException("CopyFile", ex);
+            } finally {
+                this.invalidateFile(filename, bucket);
+            }
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void move(String sourceFilename, String sourceBucket, String filename, String bucket) throws MinioRequestException {
+        this.observe("MoveFile", bucket, () -> {
+            try {
+                this.copyObject(sourceFilename, sourceBucket, filename, bucket);
+                this.retry(() -> {
+                    this.minioClient.removeObject(RemoveObjectArgs.builder()
+                            .bucket(sourceBucket)
+                            .object(sourceFilename)
+                            .build());
+                    return null;
+                });
+            } catch (Exception ex) {
+                throw new MinioRequestException("MoveFile", ex);
+            } finally {
+                this.invalidateFile(filename, bucket);
+                this.invalidateFile(sourceFilename, sourceBucket);
+            }
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<MinioObjectError> moveAll(Map<String, String> filenames, String sourceBucket, String bucket) {
+        return this.observe("MoveFiles", bucket, () -> {
+            final Semaphore inFlight = new Semaphore(this.properties.getCopy().getParallelism());
+            final ConcurrentLinkedQueue<MinioObjectError> errors = new ConcurrentLinkedQueue<>();
+            final List<CompletableFuture<Void>> futures = new ArrayList<>();
+
+            filenames.forEach((sourceFilename, filename) -> {
+                inFlight.acquireUninterruptibly();
+                futures.add(this.submit(() -> {
+                    try {
+                        this.move(sourceFilename, sourceBucket, filename, bucket);
+                    } catch (MinioRequestException ex) {
+                        errors.add(MinioObjectError.of(sourceFilename, ex.getCause() != null ? ex.getCause() : ex));
+                    } finally {
+                        inFlight.release();
+                    }
+                    return null;
+                }));
+            });
+
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+            return new ArrayList<>(errors);
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void compose(List<String> sourceFilenames, String sourceBucket, String filename, String bucket) throws MinioRequestException {
+        this.observe("ComposeFile", bucket, () -> {
+            try {
+                this.minioClient.composeObject(ComposeObjectArgs.builder()
+                        .bucket(bucket)
+                        .object(filename)
+                        .sources(sourceFilenames.stream()
+                                .map(sourceFilename -> ComposeSource.builder()
+                                        .bucket(sourceBucket)
+                                        .object(sourceFilename)
+                                        .build())
+                                .toList())
+                        .build());
+            } catch (Exception ex) {
+                throw new MinioRequestException("ComposeFile", ex);
+            } finally {
+                this.invalidateFile(filename, bucket);
+            }
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getPresignedDownloadUrl(String filename, String bucket, Duration expiry) throws MinioRequestException {
+        return this.getPresignedUrl(Method.GET, filename, bucket, expiry);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getPresignedUploadUrl(String filename, String bucket, Duration expiry) throws MinioRequestException {
+        return this.getPresignedUrl(Method.PUT, filename, bucket, expiry);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, String> getPresignedPostFormData(String filename, String bucket, Duration expiry, long maxSize) throws MinioRequestException {
+        return this.observe("GetPresignedPostFormData", bucket, () -> {
+            try {
+                final PostPolicy policy = new PostPolicy(bucket, ZonedDateTime.now().plus(expiry));
+                policy.addEqualsCondition("key", filename);
+                if (maxSize > 0) {
+                    policy.addContentLengthRangeCondition(0, maxSize);
+                }
+                return this.minioClient.getPresignedPostFormData(policy);
+            } catch (Exception ex) {
+                throw new MinioRequestException("GetPresignedPostFormData", ex);
+            }
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Stream<Item> list(String prefix, String bucket) throws MinioRequestException {
+        return this.list(MinioListRequest.builder()
+                .prefix(prefix)
+                .build(), bucket);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Stream<Item> list(MinioListRequest request, String bucket) throws MinioRequestException {
+        if (this.objectLister != null) {
+            return this.objectLister.list(request, bucket);
+        }
+
+        final Iterable<Result<Item>> results = this.minioClient.listObjects(ListObjectsArgs.builder()
+                .bucket(bucket)
+                .prefix(request.getPrefix())
+                .delimiter(request.getDelimiter())
+                .recursive(request.getDelimiter() == null)
+                .startAfter(request.getStartAfter())
+                .maxKeys(request.getMaxKeys())
+                .build());
+        return StreamSupport.stream(results.spliterator(), false)
+                .map(result -> {
+                    try {
+                        return result.get();
+                    } catch (Exception ex) {
+                        throw new MinioRequestException("ListObjects", ex);
+                    }
+                });
+    }
+
+    /**
+     * Send the file information requests of many files in parallel. At most as many requests as the configured
+     * parallelism are in flight.
+     *
+     * @param filenames: the filenames
+     * @param bucket:    the name of the bucket on which the files are
+     * @param failures:  the queue to which add the failures other than a missing file, null to only keep their error
+     * @return the {@link MinioStatResult} of each file, by filename
+     */
+    private Map<String, MinioStatResult> statAll(Collection<String> filenames, String bucket, Queue<Throwable> failures) {
+        final Semaphore inFlight = new Semaphore(Math.max(1, this.properties.getStat().getParallelism()));
+        final Map<String, MinioStatResult> results = new ConcurrentHashMap<>();
+        final List<CompletableFuture<Void>> futures = new ArrayList<>();
+
+        for (String filename : filenames) {
+            inFlight.acquireUninterruptibly();
+            futures.add(this.submit(() -> {
+                try {
+                    results.put(filename, new MinioStatResult(this.statObject(filename, bucket), null));
+                } catch (Exception ex) {
+                    // A missing file is an expected outcome, not a failure
+                    final MinioStatResult result = MinioStatResult.of(filename, ex);
+                    if (result.isFailed() && failures != null) {
+                        failures.add(ex);
+                    }
+                    results.put(filename, result);
+                } finally {
+                    inFlight.release();
+                }
+                return null;
+            }));
+        }
+
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        return results;
+    }
+
+    /**
+     * Find the existing files by listing their common prefix. The listing stops once it costs as many round trips as
+     * sending a request per file in parallel, the files it could not decide being left to check.
+     *
+     * @param remaining: the filenames to check, from which remove the decided ones
+     * @param bucket:    the name of the bucket on which the files are
+     * @param exists:    whether each decided file exists, by filename
+     * @throws MinioRequestException if the listing fail
+     */
+    private void listExisting(Set<String> remaining, String bucket, Map<String, Boolean> exists) throws MinioRequestException {
+        String prefix = null;
+        for (String filename : remaining) {
+            prefix = prefix == null ? filename : prefix.substring(0, this.commonPrefixLength(prefix, filename));
+        }
+
+        final MinioListRequest request = MinioListRequest.builder()
+                .prefix(prefix)
+                .build();
+        final int parallelism = Math.max(1, this.properties.getStat().getParallelism());
+        final long budget = (long) Math.ceil((double) remaining.size() / parallelism) * request.getMaxKeys();
+
+        final Set<String> found = new HashSet<>();
+        long listed = 0;
+        boolean exhausted = true;
+        try (final Stream<Item> items = this.list(request, bucket)) {
+            final Iterator<Item> iterator = items.iterator();
+            while (iterator.hasNext()) {
+                final String filename = iterator.next().objectName();
+                if (remaining.contains(filename)) {
+                    found.add(filename);
+                }
+                if (++listed >= budget && iterator.hasNext()) {
+                    exhausted = false;
+                    break;
+                }
+            }
+        }
+
+        // Only a complete listing proves that the files not listed do not exist
+        for (String filename : found) {
+            exists.put(filename, true);
+        }
+        remaining.removeAll(found);
+        if (exhausted) {
+            for (String filename : remaining) {
+                exists.put(filename, false);
+            }
+            remaining.clear();
+        }
+    }
+
+    /**
+     * Get the length of the common prefix of two strings, without splitting a surrogate pair
+     *
+     * @param first:  the first string
+     * @param second: the second string
+     * @return the length of the common prefix
+     */
+    private int commonPrefixLength(String first, String second) {
+        final int max = Math.min(first.length(), second.length());
+        int length = 0;
+        while (length < max && first.charAt(length) == second.charAt(length)) {
+            length++;
+        }
+        if (length > 0 && Character.isHighSurrogate(first.charAt(length - 1))) {
+            length--;
+        }
+        return length;
+    }
+
+    /**
+     * Remove a batch of files with a single multi-object delete request. At most as many batches as permits of the
+     * {@link Semaphore} are in flight, so that the filenames are not all read in memory.
+     *
+     * @param batch:    the filenames of the batch
+     * @param bucket:   the name of the bucket on which the files are
+     * @param inFlight: the {@link Semaphore} bounding the batches in flight
+     * @param errors:   the errors of the removal, to which add the errors of the batch
+     * @return a {@link CompletableFuture} completed once the batch is removed, never failing
+     */
+    private CompletableFuture<Void> removeBatch(List<String> batch, String bucket, Semaphore inFlight,
+                                                ConcurrentLinkedQueue<MinioObjectError> errors) {
+        inFlight.acquireUninterruptibly();
+        return this.submit(() -> {
+            try {
+                errors.addAll(this.retry(() -> {
+                    final Iterable<Result<DeleteError>> results = this.minioClient.removeObjects(RemoveObjectsArgs.builder()
+                            .bucket(bucket)
+                            .objects(batch.stream().map(DeleteObject::new).toList())
+                            .build());
+
+                    // The request is sent lazily, and only the failing objects are returned
+                    final List<MinioObjectError> batchErrors = new ArrayList<>();
+                    for (Result<DeleteError> result : results) {
+                        batchErrors.add(MinioObjectError.of(result.get()));
+                    }
+                    return batchErrors;
+                }));
+            } catch (Exception ex) {
+                final Throwable cause = LambdaExceptionUtils.unwrap(ex);
+                log.warn("Fail to remove a batch of {} files from {}", batch.size(), bucket, cause);
+                batch.forEach(filename -> errors.add(MinioObjectError.of(filename, cause)));
+            } finally {
+                batch.forEach(filename -> this.invalidateFile(filename, bucket));
+                inFlight.release();
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Get the content of a file, from the disk cache if any
+     *
+     * @param filename: the filename
+     * @param bucket:   the name of the bucket
+     * @return the content as {@link InputStream}
+     * @throws MinioRequestException if the request fail
+     */
+    private InputStream getObject(String filename, String bucket) throws MinioRequestException {
+        // Read the up-to-date cached copy, mapped in memory when possible
+        if (this.diskCache != null) {
+            final String codec = this.isCompressed(bucket) ?
+                    this.getCodec(this.getFileInformation(filename, bucket).userMetadata()) :
+                    null;
+            final FileChannel channel = this.diskCache.open(filename, bucket);
+            try {
+                if (channel.size() > Integer.MAX_VALUE) {
+                    return this.decompress(Channels.newInputStream(channel), codec);
+                }
+                try (channel) {
+                    return this.decompress(new ByteBufferInputStream(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size())), codec);
+                }
+            } catch (IOException ex) {
+                throw new MinioRequestException("Download", ex);
+            }
+        }
+
+        final GetObjectResponse response = this.getObject(GetObjectArgs.builder()
+                .bucket(bucket)
+                .object(filename)
+                .build());
+        return this.compression != null ?
+                this.decompress(response, response.headers().get(MinioCompression.HEADER)) :
+                response;
+    }
+
+    /**
+     * Send a GetObject request
+     *
+     * @param args: the {@link GetObjectArgs}
+     * @return the {@link GetObjectResponse}, to close once read
+     * @throws MinioRequestException if the request fail
+     */
+    private GetObjectResponse getObject(GetObjectArgs args) throws MinioRequestException {
         try {
-            this.minioClient.removeObject(RemoveObjectArgs.builder()
+            // Send the request a second time if it is slower than usual
+            return this.retry(() -> this.hedgedReader != null ?
+                    this.hedgedReader.execute(() -> this.minioClient.getObject(args)) :
+                    this.minioClient.getObject(args));
+        } catch (Exception ex) {
+            throw this.requestException("Download", ex);
+        }
+    }
+
+    /**
+     * Observe an operation with the {@link MinioObserver}, or only run it if there is none
+     *
+     * @param operation: the name of the operation
+     * @param bucket:    the name of the bucket, null if the operation is not bound to a bucket
+     * @param call:      the {@link Supplier} running the operation
+     * @param <T>:       the result type of the operation
+     * @return the result of the operation
+     */
+    private <T> T observe(String operation, String bucket, Supplier<T> call) {
+        return this.observer != null ? this.observer.observe(operation, bucket, call) : call.get();
+    }
+
+    /**
+     * Observe an operation without result with the {@link MinioObserver}, or only run it if there is none
+     *
+     * @param operation: the name of the operation
+     * @param bucket:    the name of the bucket
+     * @param call:      the {@link Runnable} running the operation
+     */
+    private void observe(String operation, String bucket, Runnable call) {
+        if (this.observer != null) {
+            this.observer.observe(operation, bucket, call);
+        } else {
+            call.run();
+        }
+    }
+
+    /**
+     * Record the bytes transferred by an operation, if observed
+     *
+     * @param operation: the name of the operation
+     * @param bucket:    the name of the bucket
+     * @param bytes:     the number of bytes
+     */
+    private void recordBytes(String operation, String bucket, long bytes) {
+        if (this.observer != null) {
+            this.observer.recordBytes(operation, bucket, bytes);
+        }
+    }
+
+    /**
+     * Remove a bucket from the cache, if any
+     *
+     * @param bucket: the name of the bucket
+     */
+    private void invalidateBucket(String bucket) {
+        if (this.bucketCache != null) {
+            this.bucketCache.invalidate(bucket);
+        }
+    }
+
+    /**
+     * Remove a file from the information cache, if any
+     *
+     * @param filename: the filename
+     * @param bucket:   the name of the bucket
+     */
+    private void invalidateFile(String filename, String bucket) {
+        if (this.metadataCache != null) {
+            this.metadataCache.invalidate(filename, bucket);
+        }
+        if (this.digestIndex != null) {
+            this.digestIndex.invalidate(filename, bucket);
+        }
+    }
+
+    /**
+     * Upload a file under the digest of its content, unless it already exists
+     *
+     * @param path:     the path of the file to upload
+     * @param digest:   the SHA-256 digest of the file
+     * @param bucket:   the bucket on where upload the file
+     * @param metadata: the optional metadata to add to the file
+     * @return the filename of the content
+     * @throws IOException if the file cannot be read
+     */
+    private String uploadDeduplicated(Path path, byte[] digest, String bucket, Map<String, String> metadata) throws IOException {
+        final String hex = HexFormat.of().formatHex(digest);
+        final String filename = this.properties.getDeduplication().getPrefix() + hex;
+        if (this.digestIndex != null && this.digestIndex.contains(filename, bucket)) {
+            return filename;
+        }
+
+        if (this.findFileInformation(filename, bucket).isEmpty()) {
+            final Map<String, String> userMetadata = new HashMap<>(Optional.ofNullable(metadata).orElse(Map.of()));
+            userMetadata.put(DIGEST_METADATA, hex);
+
+            // A single request lets Minio check the content against the digest already computed
+            final long size = Files.size(path);
+            if (!this.isCompressed(bucket) && size <= Math.min(this.properties.getUpload().getPartSize().toBytes(), ObjectWriteArgs.MAX_PART_SIZE)) {
+                try {
+                    this.minioClient.uploadObject(UploadObjectArgs.builder()
+                            .bucket(bucket)
+                            .object(filename)
+                            .filename(path.toString(), Math.max(size, ObjectWriteArgs.MIN_MULTIPART_SIZE))
+                            .userMetadata(userMetadata)
+                            .extraHeaders(Map.of(CHECKSUM_HEADER, Base64.getEncoder().encodeToString(digest)))
+                            .build());
+                    this.recordBytes("uploadDeduplicated", bucket, size);
+                } catch (IOException ex) {
+                    throw ex;
+                } catch (Exception ex) {
+                    throw new MinioRequestException("uploadDeduplicated", ex);
+                } finally {
+                    this.invalidateFile(filename, bucket);
+                }
+            } else {
+                this.upload(path, filename, bucket, userMetadata);
+            }
+        }
+
+        if (this.digestIndex != null) {
+            this.digestIndex.add(filename, bucket);
+        }
+        return filename;
+    }
+
+    /**
+     * Compute the SHA-256 digest of a file, mapping it in memory region by region
+     *
+     * @param path: the path of the file
+     * @return the digest
+     * @throws IOException if the file cannot be read
+     */
+    private byte[] digest(Path path) throws IOException {
+        final MessageDigest digest = this.newDigest();
+        try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            for (long position = 0; position < size; position += MAPPED_REGION_SIZE) {
+                digest.update(channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(MAPPED_REGION_SIZE, size - position)));
+            }
+        }
+        return digest.digest();
+    }
+
+    /**
+     * Create a SHA-256 {@link MessageDigest}
+     *
+     * @return the {@link MessageDigest}
+     */
+    private MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not supported by the JVM", ex);
+        }
+    }
+
+    /**
+     * Get a presigned url of a file, from the cache when possible
+     *
+     * @param method:   the HTTP {@link Method} of the url
+     * @param filename: the filename
+     * @param bucket:   the name of the bucket
+     * @param expiry:   the validity of the url
+     * @return the presigned url
+     * @throws MinioRequestException if the url cannot be signed
+     */
+    private String getPresignedUrl(Method method, String filename, String bucket, Duration expiry) throws MinioRequestException {
+        return this.observe("GetPresignedUrl", bucket, () -> {
+            final Callable<String> request = () -> this.minioClient.getPresignedObjectUrl(GetPresignedObjectUrlArgs.builder()
+                    .method(method)
                     .bucket(bucket)
                     .object(filename)
+                    .expiry(Math.toIntExact(expiry.toSeconds()))
                     .build());
+
+            try {
+                return this.presignedUrlCache != null ?
+                        this.presignedUrlCache.get(method, filename, bucket, expiry, request) :
+                        request.call();
+            } catch (MinioRequestException ex) {
+                throw ex;
+            } catch (Exception ex) {
+                throw new MinioRequestException("GetPresignedUrl", ex);
+            }
+        });
+    }
+
+    /**
+     * Check whether the files uploaded to a bucket are compressed
+     *
+     * @param bucket: the name of the bucket
+     * @return a {@link Boolean}
+     */
+    private boolean isCompressed(String bucket) {
+        return this.compression != null && this.compression.isCompressed(bucket);
+    }
+
+    /**
+     * Get the codec recorded in the user metadata of a file
+     *
+     * @param userMetadata: the user metadata of the file
+     * @return the codec, null if the file is not compressed
+     */
+    private String getCodec(Map<String, String> userMetadata) {
+        if (this.compression == null || userMetadata == null) {
+            return null;
+        }
+        return userMetadata.entrySet().stream()
+                .filter(entry -> MinioCompression.METADATA.equalsIgnoreCase(entry.getKey()))
+                .map(Map.Entry::getValue)
+                .findFirst()
+                .orElse(null);
+    }
+
+    /**
+     * Decompress the content of a file
+     *
+     * @param stream: the content as {@link InputStream}
+     * @param codec:  the codec of the file, null if the file is not compressed
+     * @return the decompressed content as {@link InputStream}
+     * @throws MinioRequestException if the content cannot be decompressed
+     */
+    private InputStream decompress(InputStream stream, String codec) throws MinioRequestException {
+        try {
+            return codec != null ? this.compression.decompress(stream, codec) : stream;
+        } catch (IOException ex) {
+            throw new MinioRequestException("Download", ex);
+        }
+    }
+
+    /**
+     * Create the exception of a failed request, without capturing its stack trace if the file does not exist
+     *
+     * @param request: the Minio request that fail
+     * @param cause:   the cause of the failure
+     * @return the {@link MinioRequestException}
+     */
+    private MinioRequestException requestException(String request, Exception cause) {
+        return new MinioRequestException(request, cause, !MinioStatResult.isNotFound(cause));
+    }
+
+    /**
+     * Send the StatObject request of a file
+     *
+     * @param filename: the filename
+     * @param bucket:   the name of the bucket
+     * @return the {@link StatObjectResponse}
+     * @throws Exception if the request fail
+     */
+    private StatObjectResponse statObject(String filename, String bucket) throws Exception {
+        return this.retry(() -> this.minioClient.statObject(StatObjectArgs.builder()
+                .bucket(bucket)
+                .object(filename)
+                .build()));
+    }
+
+    /**
+     * Send the CopyObject request of a file. Minio turns it into a multipart copy when the file is bigger than 5GB.
+     *
+     * @param sourceFilename: the filename of the file to copy
+     * @param sourceBucket:   the name of the bucket on which the file to copy is
+     * @param filename:       the filename of the copy
+     * @param bucket:         the name of the bucket on which copy the file
+     * @throws Exception if the request fail
+     */
+    private void copyObject(String sourceFilename, String sourceBucket, String filename, String bucket) throws Exception {
+        this.minioClient.copyObject(CopyObjectArgs.builder()
+                .bucket(bucket)
+                .object(filename)
+                .source(CopySource.builder()
+                        .bucket(sourceBucket)
+                        .object(sourceFilename)
+                        .build())
+                .build());
+    }
+
+    /**
+     * Send an idempotent request with the {@link MinioRetryPolicy}, or only once if there is none
+     *
+     * @param request: the {@link Callable} sending the request
+     * @param <T>:     the result type of the request
+     * @return the result of the request
+     * @throws Exception if the request fail
+     */
+    private <T> T retry(Callable<T> request) throws Exception {
+        return this.retryPolicy != null ? this.retryPolicy.execute(request) : request.call();
+    }
+
+    /**
+     * Run a task on the {@link MinioTaskExecutor}, or on the calling thread if there is none
+     *
+     * @param task: the {@link Callable} to run
+     * @param <T>:  the result type of the task
+     * @return the result of the task as a {@link CompletableFuture}
+     */
+    private <T> CompletableFuture<T> submit(Callable<T> task) {
+        if (this.taskExecutor != null) {
+            return this.taskExecutor.submit(task);
+        }
+        try {
+            return CompletableFuture.completedFuture(task.call());
         } catch (Exception ex) {
-            throw new MinioRequestException("RemoveFile", ex);
+            return CompletableFuture.failedFuture(ex);
         }
     }
 
@@ -172,18 +1321,98 @@ public class MinioService implements MinioBucketService, MinioFileService {
      * @throws MinioRequestException if the upload fail
      */
     private void upload(Path path, String filename, String bucket, Map<String, String> metadata) throws MinioRequestException {
-        try {
-            UploadObjectArgs.Builder builder = UploadObjectArgs.builder()
-                    .bucket(bucket)
-                    .object(filename)
-                    .filename(path.toString());
+        // The size of a compressed file is unknown until it is sent
+        if (this.isCompressed(bucket)) {
+            try (final InputStream stream = Files.newInputStream(path)) {
+                this.upload(stream, Files.size(path), filename, bucket, metadata);
+            } catch (IOException ex) {
+                throw new MinioRequestException("uploadFile", ex);
+            }
+            return;
+        }
 
-            // Set user metadata if provided
-            Optional.ofNullable(metadata).ifPresent(builder::userMetadata);
+        this.observe("uploadFile", bucket, () -> {
+            try {
+                // Upload the files bigger than a part in parallel
+                final long size = Files.size(path);
+                if (this.multipartUploader != null && size > this.multipartUploader.getPartSize(size)) {
+                    // Same content type as the one guessed by the single request upload
+                    final String contentType = Optional.ofNullable(Files.probeContentType(path)).orElse("application/octet-stream");
+                    try (final InputStream stream = Files.newInputStream(path)) {
+                        this.multipartUploader.upload(stream, size, filename, bucket, metadata, contentType);
+                    }
+                    this.recordBytes("uploadFile", bucket, size);
+                    return;
+                }
 
-            this.minioClient.uploadObject(builder.build());
-        } catch (Exception ex) {
-            throw new MinioRequestException("uploadFile", ex);
-        }
+                UploadObjectArgs.Builder builder = UploadObjectArgs.builder()
+                        .bucket(bucket)
+                        .object(filename)
+                        .filename(path.toString());
+
+                // Set user metadata if provided
+                Optional.ofNullable(metadata).ifPresent(builder::userMetadata);
+
+                this.minioClient.uploadObject(builder.build());
+                this.recordBytes("uploadFile", bucket, size);
+            } catch (MinioRequestException ex) {
+                throw ex;
+            } catch (Exception ex) {
+                throw new MinioRequestException("uploadFile", ex);
+            } finally {
+                this.invalidateFile(filename, bucket);
+            }
+        });
+    }
+
+    /**
+     * Upload a stream to Minio
+     *
+     * @param stream:     the {@link InputStream} to upload
+     * @param objectSize: the size of the object, or {@link #UNKNOWN_SIZE} to send it in parts of the configured size
+     * @param filename:   the name of the file to upload
+     * @param bucket:     the bucket on where upload the object
+     * @param metadata:   the optional metadata to add to the file
+     * @throws MinioRequestException if the upload fail
+     */
+    private void upload(InputStream stream, long objectSize, String filename, String bucket, Map<String, String> metadata) throws MinioRequestException {
+        this.observe("uploadStream", bucket, () -> {
+            try {
+                final String codec = this.compression != null ? this.compression.getCodec(bucket) : null;
+
+                // Count the bytes only if they are observed and unknown, before their compression
+                final CountingInputStream counting = this.observer != null && (objectSize == UNKNOWN_SIZE || codec != null) ?
+                        new CountingInputStream(stream, null) :
+                        null;
+                InputStream body = counting != null ? counting : stream;
+                long size = objectSize;
+                Map<String, String> userMetadata = metadata;
+
+                // Compress while sending, recording the codec to decompress on download
+                if (codec != null) {
+                    body = this.compression.compress(body, codec);
+                    size = UNKNOWN_SIZE;
+                    userMetadata = this.compression.getMetadata(metadata, codec, objectSize);
+                }
+
+                // Minio picks the part size itself when the size is known
+                final long partSize = size == UNKNOWN_SIZE ? this.properties.getUpload().getPartSize().toBytes() : -1;
+
+                PutObjectArgs.Builder builder = PutObjectArgs.builder()
+                        .bucket(bucket)
+                        .object(filename)
+                        .stream(body, size, partSize);
+
+                // Set user metadata if provided
+                Optional.ofNullable(userMetadata).ifPresent(builder::userMetadata);
+
+                this.minioClient.putObject(builder.build());
+                this.recordBytes("uploadStream", bucket, counting != null ? counting.getCount() : objectSize);
+            } catch (Exception ex) {
+                throw new MinioRequestException("uploadStream", ex);
+            } finally {
+                this.invalidateFile(filename, bucket);
+            }
+        });
     }
 }
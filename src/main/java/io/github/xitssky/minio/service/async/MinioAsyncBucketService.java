@@ -0,0 +1,54 @@
+package io.github.xitssky.minio.service.async;
+
+import io.github.xitssky.minio.exception.MinioRequestException;
+import io.minio.messages.Bucket;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The non-blocking Minio Bucket Service. The returned futures fail with a {@link MinioRequestException} if the request
+ * fail.
+ *
+ * @author quentin
+ */
+public interface MinioAsyncBucketService {
+    /**
+     * Get all buckets available on Minio
+     *
+     * @return a {@link List} of {@link Bucket} as a {@link CompletableFuture}
+     */
+    CompletableFuture<List<Bucket>> findAllBuckets();
+
+    /**
+     * Is bucket exists on Minio
+     *
+     * @param bucket: the bucket name
+     * @return the {@link Boolean} as a {@link CompletableFuture}
+     */
+    CompletableFuture<Boolean> bucketExists(String bucket);
+
+    /**
+     * Get a bucket from Minio
+     *
+     * @param bucket: the bucket name
+     * @return the {@link Bucket} as a {@link CompletableFuture}
+     */
+    CompletableFuture<Bucket> findBucket(String bucket);
+
+    /**
+     * Create a Bucket
+     *
+     * @param bucket: the name of the bucket to create
+     * @return the created {@link Bucket} as a {@link CompletableFuture}
+     */
+    CompletableFuture<Bucket> createBucket(String bucket);
+
+    /**
+     * Remove a Bucket
+     *
+     * @param bucket: the name of the bucket to remove
+     * @return a {@link CompletableFuture} completed once the bucket is removed
+     */
+    CompletableFuture<Void> removeBucket(String bucket);
+}
@@ -0,0 +1,139 @@
+package io.github.xitssky.minio.service.async;
+
+import io.github.xitssky.minio.exception.MinioRequestException;
+import io.minio.StatObjectResponse;
+
+import java.io.File;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The non-blocking Minio File Service. The returned futures fail with a {@link MinioRequestException} if the request
+ * fail.
+ *
+ * @author quentin
+ */
+public interface MinioAsyncFileService {
+    /**
+     * Get the file information
+     *
+     * @param filename: the filename
+     * @param bucket:   the name of the bucket on which upload the file
+     * @return information as the {@link StatObjectResponse} as a {@link CompletableFuture}
+     */
+    CompletableFuture<StatObjectResponse> getFileInformation(String filename, String bucket);
+
+    /**
+     * Download a file from Minio
+     *
+     * @param filename: the filename
+     * @param bucket:   the name of the bucket on which upload the file
+     * @return the file as {@link InputStream} as a {@link CompletableFuture}
+     */
+    CompletableFuture<InputStream> download(String filename, String bucket);
+
+    /**
+     * Download a file from Minio
+     *
+     * @param path:     the path of the file to create
+     * @param filename: the filename
+     * @param bucket:   the name of the bucket on which upload the file
+     * @return the {@link File} as a {@link CompletableFuture}
+     */
+    CompletableFuture<File> download(String path, String filename, String bucket);
+
+    /**
+     * Upload a file to Minio
+     *
+     * @param file:     the {@link File} to upload
+     * @param filename: the filename
+     * @param bucket:   the name of the bucket on which upload the file
+     * @param metadata: the user metadata as {@link Map} of {@link String}
+     * @return a {@link CompletableFuture} completed once the file is uploaded
+     */
+    CompletableFuture<Void> upload(File file, String filename, String bucket, Map<String, String> metadata);
+
+    /**
+     * Upload a file to Minio
+     *
+     * @param file:     the {@link File} to upload
+     * @param filename: the filename
+     * @param bucket:   the name of the bucket on which upload the file
+     * @return a {@link CompletableFuture} completed once the file is uploaded
+     */
+    CompletableFuture<Void> upload(File file, String filename, String bucket);
+
+    /**
+     * Upload a stream of unknown length to Minio. The stream is read by the HTTP threads, it is not closed.
+     *
+     * @param stream:   the {@link InputStream} to upload
+     * @param filename: the filename
+     * @param bucket:   the name of the bucket on which upload the file
+     * @param metadata: the user metadata as {@link Map} of {@link String}
+     * @return a {@link CompletableFuture} completed once the stream is uploaded
+     */
+    CompletableFuture<Void> upload(InputStream stream, String filename, String bucket, Map<String, String> metadata);
+
+    /**
+     * Upload a stream of unknown length to Minio. The stream is read by the HTTP threads, it is not closed.
+     *
+     * @param stream:   the {@link InputStream} to upload
+     * @param filename: the filename
+     * @param bucket:   the name of the bucket on which upload the file
+     * @return a {@link CompletableFuture} completed once the stream is uploaded
+     */
+    CompletableFuture<Void> upload(InputStream stream, String filename, String bucket);
+
+    /**
+     * Upload a content held in memory to Minio
+     *
+     * @param content:  the content to upload
+     * @param filename: the filename
+     * @param bucket:   the name of the bucket on which upload the file
+     * @param metadata: the user metadata as {@link Map} of {@link String}
+     * @return a {@link CompletableFuture} completed once the content is uploaded
+     */
+    CompletableFuture<Void> upload(byte[] content, String filename, String bucket, Map<String, String> metadata);
+
+    /**
+     * Upload a content held in memory to Minio
+     *
+     * @param content:  the content to upload
+     * @param filename: the filename
+     * @param bucket:   the name of the bucket on which upload the file
+     * @return a {@link CompletableFuture} completed once the content is uploaded
+     */
+    CompletableFuture<Void> upload(byte[] content, String filename, String bucket);
+
+    /**
+     * Upload the remaining bytes of a buffer to Minio. The position of the buffer is left unchanged.
+     *
+     * @param content:  the {@link ByteBuffer} to upload
+     * @param filename: the filename
+     * @param bucket:   the name of the bucket on which upload the file
+     * @param metadata: the user metadata as {@link Map} of {@link String}
+     * @return a {@link CompletableFuture} completed once the content is uploaded
+     */
+    CompletableFuture<Void> upload(ByteBuffer content, String filename, String bucket, Map<String, String> metadata);
+
+    /**
+     * Upload the remaining bytes of a buffer to Minio. The position of the buffer is left unchanged.
+     *
+     * @param content:  the {@link ByteBuffer} to upload
+     * @param filename: the filename
+     * @param bucket:   the name of the bucket on which upload the file
+     * @return a {@link CompletableFuture} completed once the content is uploaded
+     */
+    CompletableFuture<Void> upload(ByteBuffer content, String filename, String bucket);
+
+    /**
+     * Remove a file from Minio
+     *
+     * @param filename: the filename
+     * @param bucket:   the name of the bucket on which upload the file
+     * @return a {@link CompletableFuture} completed once the file is removed
+     */
+    CompletableFuture<Void> remove(String filename, String bucket);
+}
@@ -0,0 +1,344 @@
+package io.github.xitssky.minio.service.async;
+
+import io.github.xitssky.minio.configuration.properties.MinioConfigurationProperties;
+import io.github.xitssky.minio.exception.MinioRequestException;
+import io.github.xitssky.minio.exception.utils.LambdaExceptionUtils;
+import io.github.xitssky.minio.service.compression.MinioCompression;
+import io.github.xitssky.minio.service.io.ByteBufferInputStream;
+import io.minio.*;
+import io.minio.messages.Bucket;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The {@link MinioAsyncService} use to interact with Minio without blocking the calling thread
+ *
+ * @author quentin
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class MinioAsyncService implements MinioAsyncBucketService, MinioAsyncFileService {
+    private static final long UNKNOWN_SIZE = -1;
+    private static final String TEMPORARY_SUFFIX = ".part";
+
+    private final MinioAsyncClient minioAsyncClient;
+    private final MinioConfigurationProperties properties;
+
+    /**
+     * The compression of the files of each bucket, null to neither compress nor decompress the files
+     */
+    private final MinioCompression compression;
+
+    /**
+     * Constructor, neither compressing nor decompressing the files
+     *
+     * @param minioAsyncClient: the {@link MinioAsyncClient}
+     * @param properties:       the {@link MinioConfigurationProperties}
+     */
+    public MinioAsyncService(MinioAsyncClient minioAsyncClient, MinioConfigurationProperties properties) {
+        this(minioAsyncClient, properties, null);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<List<Bucket>> findAllBuckets() {
+        return this.execute("findAllBuckets", this.minioAsyncClient::listBuckets);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Boolean> bucketExists(String bucket) {
+        return this.execute("GetAllBuckets", () -> this.minioAsyncClient.bucketExists(BucketExistsArgs.builder()
+                .bucket(bucket)
+                .build()));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Bucket> findBucket(String bucket) {
+        return this.findAllBuckets().thenApply(buckets -> buckets.stream()
+                .filter(b -> b.name().equals(bucket))
+                .findAny()
+                .orElseThrow(() -> new MinioRequestException("GetBucket")));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Bucket> createBucket(String bucket) {
+        return this.execute("CreateBucket", () -> this.minioAsyncClient.makeBucket(MakeBucketArgs.builder()
+                        .bucket(bucket)
+                        .build()))
+                .thenCompose(created -> this.findBucket(bucket));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Void> removeBucket(String bucket) {
+        return this.execute("RemoveBucket", () -> this.minioAsyncClient.removeBucket(RemoveBucketArgs.builder()
+                .bucket(bucket)
+                .build()));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<StatObjectResponse> getFileInformation(String filename, String bucket) {
+        return this.execute("GetFileInformation", () -> this.minioAsyncClient.statObject(StatObjectArgs.builder()
+                .bucket(bucket)
+                .object(filename)
+                .build()));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<InputStream> download(String filename, String bucket) {
+        return this.execute("Download", () -> this.minioAsyncClient.getObject(GetObjectArgs.builder()
+                        .bucket(bucket)
+                        .object(filename)
+                        .build()))
+                .thenApply(this::decompress);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<File> download(String path, String filename, String bucket) {
+        // The files of a compressed bucket are decompressed into a temporary sibling file, moved once complete
+        if (this.compression != null && this.compression.isCompressed(bucket)) {
+            return this.download(filename, bucket).thenApply(stream -> {
+                final Path target = Path.of(path);
+                final Path temporary = target.resolveSibling(target.getFileName() + "." + UUID.randomUUID() + TEMPORARY_SUFFIX);
+                try (stream) {
+                    Files.copy(stream, temporary);
+                    Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    return target.toFile();
+                } catch (IOException ex) {
+                    try {
+                        Files.deleteIfExists(temporary);
+                    } catch (IOException deleteEx) {
+                        ex.addSuppressed(deleteEx);
+                    }
+                    throw new MinioRequestException("Download", ex);
+                }
+            });
+        }
+
+        return this.execute("Download", () -> this.minioAsyncClient.downloadObject(DownloadObjectArgs.builder()
+                        .bucket(bucket)
+                        .object(filename)
+                        .filename(path)
+                        .overwrite(true)
+                        .build()))
+                .thenApply(downloaded -> new File(path));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Void> upload(File file, String filename, String bucket, Map<String, String> metadata) {
+        // The size of a compressed file is unknown until it is sent
+        if (this.compression != null && this.compression.isCompressed(bucket)) {
+            final InputStream stream;
+            try {
+                stream = Files.newInputStream(file.toPath());
+            } catch (IOException ex) {
+                return CompletableFuture.failedFuture(new MinioRequestException("uploadFile", ex));
+            }
+            return this.upload(stream, file.length(), filename, bucket, metadata)
+                    .whenComplete((result, ex) -> {
+                        try {
+                            stream.close();
+                        } catch (IOException closeEx) {
+                            log.warn("Fail to close the uploaded file {}", file, closeEx);
+                        }
+                    });
+        }
+
+        return this.execute("uploadFile", () -> {
+            final UploadObjectArgs.Builder builder = UploadObjectArgs.builder()
+                    .bucket(bucket)
+                    .object(filename)
+                    .filename(file.getPath());
+
+            // Set user metadata if provided
+            Optional.ofNullable(metadata).ifPresent(builder::userMetadata);
+
+            return this.minioAsyncClient.uploadObject(builder.build());
+        }).thenApply(response -> null);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Void> upload(File file, String filename, String bucket) {
+        return this.upload(file, filename, bucket, null);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Void> upload(InputStream stream, String filename, String bucket, Map<String, String> metadata) {
+        return this.upload(stream, UNKNOWN_SIZE, filename, bucket, metadata);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Void> upload(InputStream stream, String filename, String bucket) {
+        return this.upload(stream, UNKNOWN_SIZE, filename, bucket, null);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Void> upload(byte[] content, String filename, String bucket, Map<String, String> metadata) {
+        return this.upload(new ByteArrayInputStream(content), content.length, filename, bucket, metadata);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Void> upload(byte[] content, String filename, String bucket) {
+        return this.upload(content, filename, bucket, null);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Void> upload(ByteBuffer content, String filename, String bucket, Map<String, String> metadata) {
+        return this.upload(new ByteBufferInputStream(content), content.remaining(), filename, bucket, metadata);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Void> upload(ByteBuffer content, String filename, String bucket) {
+        return this.upload(content, filename, bucket, null);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Void> remove(String filename, String bucket) {
+        return this.execute("RemoveFile", () -> this.minioAsyncClient.removeObject(RemoveObjectArgs.builder()
+                .bucket(bucket)
+                .object(filename)
+                .build()));
+    }
+
+    /**
+     * Upload a stream to Minio
+     *
+     * @param stream:     the {@link InputStream} to upload
+     * @param objectSize: the size of the object, or {@link #UNKNOWN_SIZE} to send it in parts of the configured size
+     * @param filename:   the name of the file to upload
+     * @param bucket:     the bucket on where upload the object
+     * @param metadata:   the optional metadata to add to the file
+     * @return a {@link CompletableFuture} completed once the stream is uploaded
+     */
+    private CompletableFuture<Void> upload(InputStream stream, long objectSize, String filename, String bucket, Map<String, String> metadata) {
+        return this.execute("uploadStream", () -> {
+            final String codec = this.compression != null ? this.compression.getCodec(bucket) : null;
+            InputStream body = stream;
+            long size = objectSize;
+            Map<String, String> userMetadata = metadata;
+
+            // Compress while sending, recording the codec to decompress on download
+            if (codec != null) {
+                body = this.compression.compress(stream, codec);
+                size = UNKNOWN_SIZE;
+                userMetadata = this.compression.getMetadata(metadata, codec, objectSize);
+            }
+
+            // Minio picks the part size itself when the size is known
+            final long partSize = size == UNKNOWN_SIZE ? this.properties.getUpload().getPartSize().toBytes() : -1;
+
+            final PutObjectArgs.Builder builder = PutObjectArgs.builder()
+                    .bucket(bucket)
+                    .object(filename)
+                    .stream(body, size, partSize);
+
+            // Set user metadata if provided
+            Optional.ofNullable(userMetadata).ifPresent(builder::userMetadata);
+
+            return this.minioAsyncClient.putObject(builder.build());
+        }).thenApply(response -> null);
+    }
+
+    /**
+     * Decompress the content of a downloaded file according to the codec recorded in its user metadata
+     *
+     * @param response: the {@link GetObjectResponse} of the file
+     * @return the decompressed content as {@link InputStream}
+     * @throws MinioRequestException if the content cannot be decompressed
+     */
+    private InputStream decompress(GetObjectResponse response) throws MinioRequestException {
+        if (this.compression == null) {
+            return response;
+        }
+        try {
+            return this.compression.decompress(response, response.headers().get(MinioCompression.HEADER));
+        } catch (IOException ex) {
+            throw new MinioRequestException("Download", ex);
+        }
+    }
+
+    /**
+     * Send a request and map its failure to a {@link MinioRequestException}
+     *
+     * @param request: the name of the Minio request
+     * @param call:    the {@link Callable} sending the request
+     * @param <T>:     the result type of the request
+     * @return the result of the request as a {@link CompletableFuture}
+     */
+    private <T> CompletableFuture<T> execute(String request, Callable<CompletableFuture<T>> call) {
+        try {
+            return call.call().handle((result, ex) -> {
+                if (ex != null) {
+                    throw new MinioRequestException(request, LambdaExceptionUtils.unwrap(ex));
+                }
+                return result;
+            });
+        } catch (Exception ex) {
+            return CompletableFuture.failedFuture(new MinioRequestException(request, ex));
+        }
+    }
+}
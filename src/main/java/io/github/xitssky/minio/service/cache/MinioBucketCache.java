@@ -0,0 +1,176 @@
+package io.github.xitssky.minio.service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.github.xitssky.minio.configuration.properties.MinioCacheBucket;
+import io.github.xitssky.minio.exception.MinioRequestException;
+import io.github.xitssky.minio.service.retry.MinioRetryPolicy;
+import io.minio.BucketExistsArgs;
+import io.minio.MinioClient;
+import io.minio.messages.Bucket;
+
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.function.Predicate;
+
+/**
+ * The cache of the bucket lookups, keyed by bucket name. Missing buckets are only cached if a not found ttl is
+ * configured, until the bucket is created through the service or the entry expires.
+ *
+ * @author quentin
+ */
+public class MinioBucketCache {
+    private final MinioClient client;
+    private final LoadingCache<String, Optional<Bucket>> buckets;
+    private final Cache<String, Boolean> existence;
+    private final boolean cacheNotFound;
+
+    /**
+     * The retry policy of the lookups, null to send them only once
+     */
+    private final MinioRetryPolicy retryPolicy;
+
+    /**
+     * Constructor
+     *
+     * @param client:        the {@link MinioClient} loading the buckets
+     * @param configuration: the {@link MinioCacheBucket} configuration
+     * @param retryPolicy:   the {@link MinioRetryPolicy} of the lookups, null to send them only once
+     */
+    public MinioBucketCache(MinioClient client, MinioCacheBucket configuration, MinioRetryPolicy retryPolicy) {
+        this.client = client;
+        this.retryPolicy = retryPolicy;
+        this.cacheNotFound = configuration.getNotFoundTtl() != null;
+
+        final long ttl = configuration.getTtl().toNanos();
+        final long notFoundTtl = this.cacheNotFound ? configuration.getNotFoundTtl().toNanos() : 0;
+
+        final Caffeine<String, Optional<Bucket>> builder = Caffeine.newBuilder()
+                .maximumSize(configuration.getMaxSize())
+                .expireAfter(expiry(Optional::isPresent, ttl, notFoundTtl));
+        // Refreshed entries are reloaded in background, the stale value being served meanwhile
+        if (configuration.getRefreshAfter() != null) {
+            builder.refreshAfterWrite(configuration.getRefreshAfter());
+        }
+        this.buckets = builder.build(this::load);
+
+        this.existence = Caffeine.newBuilder()
+                .maximumSize(configuration.getMaxSize())
+                .expireAfter(expiry(Boolean::booleanValue, ttl, notFoundTtl))
+                .build();
+    }
+
+    /**
+     * Get a bucket, listing the buckets only if it is not cached
+     *
+     * @param bucket: the name of the bucket
+     * @return the {@link Bucket}, empty if it does not exist
+     * @throws MinioRequestException if the ListBuckets request fail
+     */
+    public Optional<Bucket> find(String bucket) throws MinioRequestException {
+        return Optional.ofNullable(this.buckets.get(bucket)).flatMap(cached -> cached);
+    }
+
+    /**
+     * Check whether a bucket exists, sending the request only if it is not cached
+     *
+     * @param bucket: the name of the bucket
+     * @return a {@link Boolean}
+     * @throws MinioRequestException if the BucketExists request fail
+     */
+    public boolean exists(String bucket) throws MinioRequestException {
+        final Optional<Bucket> cached = this.buckets.getIfPresent(bucket);
+        if (cached != null) {
+            return cached.isPresent();
+        }
+        return Boolean.TRUE.equals(this.existence.get(bucket, this::exist));
+    }
+
+    /**
+     * Remove a bucket from the cache, once it is created or removed
+     *
+     * @param bucket: the name of the bucket
+     */
+    public void invalidate(String bucket) {
+        this.buckets.invalidate(bucket);
+        this.existence.invalidate(bucket);
+    }
+
+    /**
+     * Load a bucket from Minio
+     *
+     * @param bucket: the name of the bucket
+     * @return the {@link Bucket}, empty if it does not exist, null if it does not exist and must not be cached
+     * @throws MinioRequestException if the ListBuckets request fail
+     */
+    private Optional<Bucket> load(String bucket) throws MinioRequestException {
+        try {
+            final Optional<Bucket> found = this.retry(() -> this.client.listBuckets()).stream()
+                    .filter(b -> b.name().equals(bucket))
+                    .findAny();
+            return found.isPresent() || this.cacheNotFound ? found : null;
+        } catch (Exception ex) {
+            throw new MinioRequestException("findAllBuckets", ex);
+        }
+    }
+
+    /**
+     * Check on Minio whether a bucket exists
+     *
+     * @param bucket: the name of the bucket
+     * @return a {@link Boolean}, null if it does not exist and must not be cached
+     * @throws MinioRequestException if the BucketExists request fail
+     */
+    private Boolean exist(String bucket) throws MinioRequestException {
+        try {
+            final boolean exists = this.retry(() -> this.client.bucketExists(BucketExistsArgs.builder()
+                    .bucket(bucket)
+                    .build()));
+            return exists || this.cacheNotFound ? exists : null;
+        } catch (Exception ex) {
+            throw new MinioRequestException("GetAllBuckets", ex);
+        }
+    }
+
+    /**
+     * Send a request with the {@link MinioRetryPolicy}, or only once if there is none
+     *
+     * @param request: the {@link Callable} sending the request
+     * @param <T>:     the result type of the request
+     * @return the result of the request
+     * @throws Exception if the request fail
+     */
+    private <T> T retry(Callable<T> request) throws Exception {
+        return this.retryPolicy != null ? this.retryPolicy.execute(request) : request.call();
+    }
+
+    /**
+     * Get the expiry of the cached lookups, the missing buckets being cached for their own time
+     *
+     * @param found:       the {@link Predicate} telling whether a cached lookup found the bucket
+     * @param ttl:         how long an existing bucket is cached, in nanoseconds
+     * @param notFoundTtl: how long a missing bucket is cached, in nanoseconds
+     * @param <V>:         the type of the cached lookups
+     * @return the {@link Expiry}
+     */
+    private static <V> Expiry<String, V> expiry(Predicate<V> found, long ttl, long notFoundTtl) {
+        return new Expiry<>() {
+            @Override
+            public long expireAfterCreate(String bucket, V value, long currentTime) {
+                return found.test(value) ? ttl : notFoundTtl;
+            }
+
+            @Override
+            public long expireAfterUpdate(String bucket, V value, long currentTime, long currentDuration) {
+                return this.expireAfterCreate(bucket, value, currentTime);
+            }
+
+            @Override
+            public long expireAfterRead(String bucket, V value, long currentTime, long currentDuration) {
+                return currentDuration;
+            }
+        };
+    }
+}
@@ -0,0 +1,93 @@
+package io.github.xitssky.minio.service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.xitssky.minio.configuration.properties.MinioDeduplication;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The local index of the content addressed files known to exist, so that uploading again a known content sends no
+ * request at all. The files removed through the service are dropped from the index, the ones removed by other clients
+ * are only seen once their entry expires.
+ *
+ * @author quentin
+ */
+public class MinioDigestIndex {
+    private final Cache<Key, Boolean> cache;
+    private final LongAdder hits = new LongAdder();
+
+    /**
+     * Constructor
+     *
+     * @param configuration: the {@link MinioDeduplication} configuration
+     */
+    public MinioDigestIndex(MinioDeduplication configuration) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(configuration.getIndexSize())
+                .expireAfterWrite(configuration.getIndexTtl())
+                .build();
+    }
+
+    /**
+     * Check whether a content addressed file is known to exist
+     *
+     * @param filename: the filename
+     * @param bucket:   the name of the bucket
+     * @return a {@link Boolean}
+     */
+    public boolean contains(String filename, String bucket) {
+        final boolean known = this.cache.getIfPresent(new Key(bucket, filename)) != null;
+        if (known) {
+            this.hits.increment();
+        }
+        return known;
+    }
+
+    /**
+     * Record that a content addressed file exists
+     *
+     * @param filename: the filename
+     * @param bucket:   the name of the bucket
+     */
+    public void add(String filename, String bucket) {
+        this.cache.put(new Key(bucket, filename), Boolean.TRUE);
+    }
+
+    /**
+     * Remove a file from the index, once it is removed or overwritten
+     *
+     * @param filename: the filename
+     * @param bucket:   the name of the bucket
+     */
+    public void invalidate(String filename, String bucket) {
+        this.cache.invalidate(new Key(bucket, filename));
+    }
+
+    /**
+     * Get the number of uploads skipped without checking Minio
+     *
+     * @return the number of hits
+     */
+    public long getHitCount() {
+        return this.hits.sum();
+    }
+
+    /**
+     * Get the number of indexed files
+     *
+     * @return the estimated size of the index
+     */
+    public long getSize() {
+        return this.cache.estimatedSize();
+    }
+
+    /**
+     * The key of an indexed file
+     *
+     * @param bucket:   the name of the bucket
+     * @param filename: the filename
+     */
+    private record Key(String bucket, String filename) {
+    }
+}
@@ -0,0 +1,307 @@
+package io.github.xitssky.minio.service.cache;
+
+import io.github.xitssky.minio.configuration.properties.MinioCacheDisk;
+import io.github.xitssky.minio.exception.InvalidMinioConfigurationException;
+import io.github.xitssky.minio.exception.MinioRequestException;
+import io.github.xitssky.minio.service.model.MinioStatResult;
+import io.minio.GetObjectArgs;
+import io.minio.GetObjectResponse;
+import io.minio.MinioClient;
+import io.minio.errors.ServerException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * The local disk read-through cache of the downloads, keyed by bucket, filename and ETag. The freshness of a cached file
+ * is checked on every access with a conditional GET, which transfers the object only if it changed. The total size is
+ * capped by evicting the least recently used files, and concurrent misses of the same file share a single fetch.
+ *
+ * @author quentin
+ */
+@Slf4j
+public class MinioDiskCache {
+    private static final int NOT_MODIFIED = 304;
+    private static final String SEPARATOR = "_";
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+
+    private final MinioClient client;
+    private final Path directory;
+    private final long maxSize;
+
+    /**
+     * The cached files by key, in access order. Guarded by itself, as well as {@link #size}.
+     */
+    private final LinkedHashMap<String, CachedFile> files = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, CompletableFuture<CachedFile>> fetching = new ConcurrentHashMap<>();
+    private long size;
+
+    /**
+     * Constructor, indexing the files already cached in the directory
+     *
+     * @param client:        the {@link MinioClient} fetching the files
+     * @param configuration: the {@link MinioCacheDisk} configuration
+     * @throws InvalidMinioConfigurationException if the directory cannot be used
+     */
+    public MinioDiskCache(MinioClient client, MinioCacheDisk configuration) throws InvalidMinioConfigurationException {
+        this.client = client;
+        this.directory = configuration.getDirectory();
+        this.maxSize = configuration.getMaxSize().toBytes();
+
+        if (this.directory == null) {
+            throw new InvalidMinioConfigurationException("cache.disk.directory", "a writable directory");
+        }
+        try {
+            Files.createDirectories(this.directory);
+            this.index();
+        } catch (IOException | UncheckedIOException ex) {
+            throw new InvalidMinioConfigurationException("cache.disk.directory", "a writable directory");
+        }
+    }
+
+    /**
+     * Open the up-to-date cached copy of a file, fetching it if it is missing or changed
+     *
+     * @param filename: the filename
+     * @param bucket:   the name of the bucket
+     * @return the {@link FileChannel} of the cached copy, to close once read
+     * @throws MinioRequestException if the file cannot be fetched
+     */
+    public FileChannel open(String filename, String bucket) throws MinioRequestException {
+        final String key = key(bucket, filename);
+        try {
+            return FileChannel.open(this.get(key, filename, bucket).path(), StandardOpenOption.READ);
+        } catch (NoSuchFileException ex) {
+            // Evicted or replaced by another access between its fetch and its opening, fetched once again
+            try {
+                return FileChannel.open(this.get(key, filename, bucket).path(), StandardOpenOption.READ);
+            } catch (IOException retryEx) {
+                throw new MinioRequestException("Download", retryEx);
+            }
+        } catch (IOException ex) {
+            throw new MinioRequestException("Download", ex);
+        }
+    }
+
+    /**
+     * Get the total size of the cached files
+     *
+     * @return the size in bytes
+     */
+    public long getSize() {
+        synchronized (this.files) {
+            return this.size;
+        }
+    }
+
+    /**
+     * Get the up-to-date cached copy of a file, sharing the fetch with the concurrent accesses of the same file
+     *
+     * @param key:      the key of the file
+     * @param filename: the filename
+     * @param bucket:   the name of the bucket
+     * @return the up-to-date {@link CachedFile}
+     * @throws MinioRequestException if the file cannot be fetched
+     */
+    private CachedFile get(String key, String filename, String bucket) throws MinioRequestException {
+        final CompletableFuture<CachedFile> fetch = new CompletableFuture<>();
+        final CompletableFuture<CachedFile> running = this.fetching.putIfAbsent(key, fetch);
+        if (running != null) {
+            try {
+                return running.join();
+            } catch (CompletionException ex) {
+                // Rethrow the failure of the fetch as its owner does
+                if (ex.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw ex;
+            }
+        }
+
+        try {
+            final CachedFile cachedFile = this.fetch(key, filename, bucket);
+            fetch.complete(cachedFile);
+            return cachedFile;
+        } catch (RuntimeException ex) {
+            fetch.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            this.fetching.remove(key, fetch);
+        }
+    }
+
+    /**
+     * Fetch a file unless the cached copy is still up-to-date
+     *
+     * @param key:      the key of the file
+     * @param filename: the filename
+     * @param bucket:   the name of the bucket
+     * @return the up-to-date {@link CachedFile}
+     * @throws MinioRequestException if the file cannot be fetched
+     */
+    private CachedFile fetch(String key, String filename, String bucket) throws MinioRequestException {
+        final CachedFile cached;
+        synchronized (this.files) {
+            cached = this.files.get(key);
+        }
+
+        final GetObjectArgs.Builder builder = GetObjectArgs.builder()
+                .bucket(bucket)
+                .object(filename);
+        if (cached != null) {
+            builder.notMatchETag(cached.etag());
+        }
+
+        final Path temporary = this.directory.resolve(key + SEPARATOR + UUID.randomUUID() + TEMPORARY_SUFFIX);
+        try (final GetObjectResponse response = this.client.getObject(builder.build())) {
+            final String etag = sanitize(response.headers().get("ETag"));
+            final long length = Files.copy(response, temporary);
+            final Path path = this.directory.resolve(key + SEPARATOR + etag);
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return this.add(key, new CachedFile(path, etag, length));
+        } catch (ServerException ex) {
+            if (cached != null && ex.statusCode() == NOT_MODIFIED) {
+                return cached;
+            }
+            throw new MinioRequestException("Download", ex);
+        } catch (Exception ex) {
+            // A missing file is an expected failure, not worth a stack trace
+            throw new MinioRequestException("Download", ex, !MinioStatResult.isNotFound(ex));
+        } finally {
+            this.delete(temporary);
+        }
+    }
+
+    /**
+     * Add a fetched file to the index, replacing its previous copy, and evict the least recently used files
+     *
+     * @param key:        the key of the file
+     * @param cachedFile: the {@link CachedFile}
+     * @return the {@link CachedFile}
+     */
+    private CachedFile add(String key, CachedFile cachedFile) {
+        synchronized (this.files) {
+            final CachedFile previous = this.files.put(key, cachedFile);
+            if (previous != null) {
+                this.size -= previous.size();
+                if (!previous.path().equals(cachedFile.path())) {
+                    this.delete(previous.path());
+                }
+            }
+            this.size += cachedFile.size();
+
+            // Keep the fetched file even if it exceeds the cap on its own, it is evicted by the next fetch
+            final Iterator<Map.Entry<String, CachedFile>> iterator = this.files.entrySet().iterator();
+            while (this.size > this.maxSize && iterator.hasNext()) {
+                final Map.Entry<String, CachedFile> eldest = iterator.next();
+                if (!eldest.getKey().equals(key)) {
+                    iterator.remove();
+                    this.size -= eldest.getValue().size();
+                    this.delete(eldest.getValue().path());
+                }
+            }
+        }
+        return cachedFile;
+    }
+
+    /**
+     * Index the files already cached in the directory, the oldest being the least recently used
+     *
+     * @throws IOException if the directory cannot be read
+     */
+    private void index() throws IOException {
+        try (final Stream<Path> paths = Files.list(this.directory)) {
+            paths.filter(Files::isRegularFile)
+                    .sorted(Comparator.comparingLong(this::lastModified))
+                    .forEach(path -> {
+                        final String name = path.getFileName().toString();
+                        final int separator = name.indexOf(SEPARATOR);
+                        if (name.endsWith(TEMPORARY_SUFFIX) || separator < 0) {
+                            this.delete(path);
+                        } else {
+                            this.add(name.substring(0, separator), new CachedFile(path, name.substring(separator + 1), path.toFile().length()));
+                        }
+                    });
+        }
+    }
+
+    /**
+     * Delete a file, the failure of the deletion is only logged
+     *
+     * @param path: the {@link Path} of the file
+     */
+    private void delete(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ex) {
+            log.warn("Fail to delete the cached file {}", path, ex);
+        }
+    }
+
+    /**
+     * Get the last modification time of a file
+     *
+     * @param path: the {@link Path} of the file
+     * @return the time in milliseconds
+     */
+    private long lastModified(Path path) {
+        return path.toFile().lastModified();
+    }
+
+    /**
+     * Get the key of a file, usable as a filename
+     *
+     * @param bucket:   the name of the bucket
+     * @param filename: the filename
+     * @return the key
+     */
+    private static String key(String bucket, String filename) {
+        try {
+            final byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest((bucket + "/" + filename).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Remove the quotes of an ETag and the characters that are not allowed in a filename
+     *
+     * @param etag: the ETag
+     * @return the sanitized ETag
+     */
+    private static String sanitize(String etag) {
+        return etag == null ? "" : etag.replaceAll("[^A-Za-z0-9-]", "");
+    }
+
+    /**
+     * A cached file
+     *
+     * @param path: the {@link Path} of the cached copy
+     * @param etag: the ETag of the cached copy, without quotes
+     * @param size: the size of the cached copy
+     */
+    private record CachedFile(Path path, String etag, long size) {
+    }
+}
@@ -0,0 +1,194 @@
+package io.github.xitssky.minio.service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.github.xitssky.minio.configuration.properties.MinioCacheMetadata;
+import io.github.xitssky.minio.exception.MinioRequestException;
+import io.github.xitssky.minio.service.model.MinioStatResult;
+import io.minio.StatObjectResponse;
+import io.minio.errors.ErrorResponseException;
+
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The bounded cache of the file information, keyed by bucket and filename. Missing files are cached for a shorter time.
+ *
+ * @author quentin
+ */
+public class MinioMetadataCache {
+    private final Cache<Key, Entry> cache;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder notFoundHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Constructor
+     *
+     * @param configuration: the {@link MinioCacheMetadata} configuration
+     */
+    public MinioMetadataCache(MinioCacheMetadata configuration) {
+        final long ttl = configuration.getTtl().toNanos();
+        final long notFoundTtl = configuration.getNotFoundTtl().toNanos();
+
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(configuration.getMaxSize())
+                .expireAfter(new Expiry<Key, Entry>() {
+                    @Override
+                    public long expireAfterCreate(Key key, Entry entry, long currentTime) {
+                        return entry.information() != null ? ttl : notFoundTtl;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(Key key, Entry entry, long currentTime, long currentDuration) {
+                        return this.expireAfterCreate(key, entry, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(Key key, Entry entry, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * Get the information of a file, sending the request only if it is not cached
+     *
+     * @param filename: the filename
+     * @param bucket:   the name of the bucket
+     * @param request:  the {@link Callable} sending the StatObject request
+     * @return the {@link StatObjectResponse}
+     * @throws MinioRequestException if the file does not exist or the request fail
+     */
+    public StatObjectResponse get(String filename, String bucket, Callable<StatObjectResponse> request) throws MinioRequestException {
+        final Entry entry = this.lookup(filename, bucket, request);
+        if (entry.information() == null) {
+            throw new MinioRequestException("GetFileInformation", entry.notFound(), false);
+        }
+        return entry.information();
+    }
+
+    /**
+     * Find the information of a file, sending the request only if it is not cached
+     *
+     * @param filename: the filename
+     * @param bucket:   the name of the bucket
+     * @param request:  the {@link Callable} sending the StatObject request
+     * @return the {@link StatObjectResponse}, empty if the file does not exist
+     * @throws MinioRequestException if the request fail
+     */
+    public Optional<StatObjectResponse> find(String filename, String bucket, Callable<StatObjectResponse> request) throws MinioRequestException {
+        return Optional.ofNullable(this.lookup(filename, bucket, request).information());
+    }
+
+    /**
+     * Remove a file from the cache, once it is uploaded or removed
+     *
+     * @param filename: the filename
+     * @param bucket:   the name of the bucket
+     */
+    public void invalidate(String filename, String bucket) {
+        this.cache.invalidate(new Key(bucket, filename));
+    }
+
+    /**
+     * Get the number of lookups served from the cache for existing files
+     *
+     * @return the number of hits
+     */
+    public long getHitCount() {
+        return this.hits.sum();
+    }
+
+    /**
+     * Get the number of lookups served from the cache for missing files
+     *
+     * @return the number of not found hits
+     */
+    public long getNotFoundHitCount() {
+        return this.notFoundHits.sum();
+    }
+
+    /**
+     * Get the number of lookups sent to Minio
+     *
+     * @return the number of misses
+     */
+    public long getMissCount() {
+        return this.misses.sum();
+    }
+
+    /**
+     * Get the number of cached files
+     *
+     * @return the estimated size of the cache
+     */
+    public long getSize() {
+        return this.cache.estimatedSize();
+    }
+
+    /**
+     * Get the cached lookup of a file, sending the request only if it is not cached
+     *
+     * @param filename: the filename
+     * @param bucket:   the name of the bucket
+     * @param request:  the {@link Callable} sending the StatObject request
+     * @return the {@link Entry}
+     * @throws MinioRequestException if the request fail for another reason than a missing file
+     */
+    private Entry lookup(String filename, String bucket, Callable<StatObjectResponse> request) throws MinioRequestException {
+        final Key key = new Key(bucket, filename);
+        Entry entry = this.cache.getIfPresent(key);
+
+        if (entry == null) {
+            this.misses.increment();
+            entry = this.cache.get(key, k -> this.load(request));
+        } else if (entry.information() != null) {
+            this.hits.increment();
+        } else {
+            this.notFoundHits.increment();
+        }
+        return entry;
+    }
+
+    /**
+     * Send the StatObject request, keeping a not found failure as a cacheable entry
+     *
+     * @param request: the {@link Callable} sending the request
+     * @return the {@link Entry}
+     * @throws MinioRequestException if the request fail for another reason
+     */
+    private Entry load(Callable<StatObjectResponse> request) throws MinioRequestException {
+        try {
+            return new Entry(request.call(), null);
+        } catch (ErrorResponseException ex) {
+            if (MinioStatResult.isNotFound(ex)) {
+                return new Entry(null, ex);
+            }
+            throw new MinioRequestException("GetFileInformation", ex);
+        } catch (Exception ex) {
+            throw new MinioRequestException("GetFileInformation", ex);
+        }
+    }
+
+    /**
+     * The key of a cached file
+     *
+     * @param bucket:   the name of the bucket
+     * @param filename: the filename
+     */
+    private record Key(String bucket, String filename) {
+    }
+
+    /**
+     * A cached lookup
+     *
+     * @param information: the information of the file, null if it does not exist
+     * @param notFound:    the failure of the lookup when the file does not exist
+     */
+    private record Entry(StatObjectResponse information, Exception notFound) {
+    }
+}
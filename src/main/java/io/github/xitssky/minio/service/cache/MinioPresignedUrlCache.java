@@ -0,0 +1,122 @@
+package io.github.xitssky.minio.service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.github.xitssky.minio.configuration.properties.MinioCachePresigned;
+import io.github.xitssky.minio.exception.MinioRequestException;
+import io.minio.http.Method;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The bounded cache of the presigned urls, keyed by method, bucket, filename and expiry. A url is reused for at most
+ * half of its expiry, so that a cached url always stays valid for at least half of the requested expiry.
+ *
+ * @author quentin
+ */
+public class MinioPresignedUrlCache {
+    private final Cache<Key, String> cache;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Constructor
+     *
+     * @param configuration: the {@link MinioCachePresigned} configuration
+     */
+    public MinioPresignedUrlCache(MinioCachePresigned configuration) {
+        final long maxAge = configuration.getMaxAge().toNanos();
+
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(configuration.getMaxSize())
+                .expireAfter(new Expiry<Key, String>() {
+                    @Override
+                    public long expireAfterCreate(Key key, String url, long currentTime) {
+                        return Math.min(maxAge, key.expiry().toNanos() / 2);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(Key key, String url, long currentTime, long currentDuration) {
+                        return this.expireAfterCreate(key, url, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(Key key, String url, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * Get a presigned url, signing it only if it is not cached
+     *
+     * @param method:   the HTTP {@link Method} of the url
+     * @param filename: the filename
+     * @param bucket:   the name of the bucket
+     * @param expiry:   the validity of the url
+     * @param request:  the {@link Callable} signing the url
+     * @return the presigned url
+     * @throws MinioRequestException if the url cannot be signed
+     */
+    public String get(Method method, String filename, String bucket, Duration expiry, Callable<String> request) throws MinioRequestException {
+        final Key key = new Key(method, bucket, filename, expiry);
+        final String url = this.cache.getIfPresent(key);
+        if (url != null) {
+            this.hits.increment();
+            return url;
+        }
+
+        this.misses.increment();
+        return this.cache.get(key, k -> {
+            try {
+                return request.call();
+            } catch (MinioRequestException ex) {
+                throw ex;
+            } catch (Exception ex) {
+                throw new MinioRequestException("GetPresignedUrl", ex);
+            }
+        });
+    }
+
+    /**
+     * Get the number of urls served from the cache
+     *
+     * @return the number of hits
+     */
+    public long getHitCount() {
+        return this.hits.sum();
+    }
+
+    /**
+     * Get the number of signed urls
+     *
+     * @return the number of misses
+     */
+    public long getMissCount() {
+        return this.misses.sum();
+    }
+
+    /**
+     * Get the number of cached urls
+     *
+     * @return the estimated size of the cache
+     */
+    public long getSize() {
+        return this.cache.estimatedSize();
+    }
+
+    /**
+     * The key of a cached url
+     *
+     * @param method:   the HTTP {@link Method} of the url
+     * @param bucket:   the name of the bucket
+     * @param filename: the filename
+     * @param expiry:   the validity of the url
+     */
+    private record Key(Method method, String bucket, String filename, Duration expiry) {
+    }
+}
@@ -0,0 +1,201 @@
+package io.github.xitssky.minio.service.compression;
+
+import com.github.luben.zstd.ZstdInputStream;
+import com.github.luben.zstd.ZstdOutputStream;
+import io.github.xitssky.minio.configuration.properties.MinioBucket;
+import io.github.xitssky.minio.exception.InvalidMinioConfigurationException;
+import io.github.xitssky.minio.service.io.CompressingInputStream;
+import org.springframework.util.ClassUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The compression of the files of each bucket. The codec of a compressed file is recorded in its user metadata, so that
+ * it is decompressed on download even if the configuration of its bucket changed since.
+ *
+ * @author quentin
+ */
+public class MinioCompression {
+    /**
+     * The user metadata recording the codec of a compressed file
+     */
+    public static final String METADATA = "minio-starter-codec";
+
+    /**
+     * The response header of the user metadata recording the codec of a compressed file
+     */
+    public static final String HEADER = "x-amz-meta-" + METADATA;
+
+    /**
+     * The user metadata recording the size of a compressed file before its compression, when known on upload
+     */
+    public static final String SIZE_METADATA = "minio-starter-size";
+
+    public static final String NONE = "NONE";
+    public static final String GZIP = "GZIP";
+    public static final String ZSTD = "ZSTD";
+
+    private final Map<String, String> codecs = new HashMap<>();
+
+    /**
+     * Constructor
+     *
+     * @param buckets: the {@link MinioBucket} configurations, null if none
+     * @throws InvalidMinioConfigurationException if a codec is unknown or unavailable
+     */
+    public MinioCompression(List<MinioBucket> buckets) throws InvalidMinioConfigurationException {
+        if (buckets == null) {
+            return;
+        }
+
+        for (MinioBucket bucket : buckets) {
+            final String codec = bucket.getCompression() != null ? bucket.getCompression().toUpperCase() : NONE;
+            switch (codec) {
+                case NONE -> {
+                }
+                case GZIP -> this.codecs.put(bucket.getName(), GZIP);
+                case ZSTD -> {
+                    if (!ClassUtils.isPresent("com.github.luben.zstd.ZstdOutputStream", MinioCompression.class.getClassLoader())) {
+                        throw new InvalidMinioConfigurationException("buckets.compression", "zstd-jni on the classpath to use ZSTD");
+                    }
+                    this.codecs.put(bucket.getName(), ZSTD);
+                }
+                default -> throw new InvalidMinioConfigurationException("buckets.compression", "NONE | GZIP | ZSTD");
+            }
+        }
+    }
+
+    /**
+     * Get the codec compressing the files uploaded to a bucket
+     *
+     * @param bucket: the name of the bucket
+     * @return the codec, null if the files are not compressed
+     */
+    public String getCodec(String bucket) {
+        return this.codecs.get(bucket);
+    }
+
+    /**
+     * Check whether the files of a bucket may be compressed
+     *
+     * @param bucket: the name of the bucket
+     * @return a {@link Boolean}
+     */
+    public boolean isCompressed(String bucket) {
+        return this.codecs.containsKey(bucket);
+    }
+
+    /**
+     * Get the user metadata of a compressed file, recording its codec and its size before compression
+     *
+     * @param metadata: the user metadata provided on upload, null if none
+     * @param codec:    the codec
+     * @param size:     the size before compression, negative if unknown
+     * @return the user metadata to upload
+     */
+    public Map<String, String> getMetadata(Map<String, String> metadata, String codec, long size) {
+        final Map<String, String> userMetadata = metadata != null ? new HashMap<>(metadata) : new HashMap<>();
+        userMetadata.put(METADATA, codec);
+        if (size >= 0) {
+            userMetadata.put(SIZE_METADATA, Long.toString(size));
+        }
+        return userMetadata;
+    }
+
+    /**
+     * Get the size of a file before its compression, recorded in its user metadata
+     *
+     * @param userMetadata: the user metadata of the file, null if none
+     * @return the size, negative if the file is not compressed or its size was unknown on upload
+     */
+    public static long getSize(Map<String, String> userMetadata) {
+        if (userMetadata == null) {
+            return -1;
+        }
+        return userMetadata.entrySet().stream()
+                .filter(entry -> SIZE_METADATA.equalsIgnoreCase(entry.getKey()))
+                .mapToLong(entry -> {
+                    try {
+                        return Long.parseLong(entry.getValue());
+                    } catch (NumberFormatException ex) {
+                        return -1;
+                    }
+                })
+                .findFirst()
+                .orElse(-1);
+    }
+
+    /**
+     * Compress a stream while it is read
+     *
+     * @param stream: the {@link InputStream} to compress
+     * @param codec:  the codec
+     * @return the compressed {@link InputStream}
+     * @throws IOException if the compression cannot start
+     */
+    public InputStream compress(InputStream stream, String codec) throws IOException {
+        return switch (codec) {
+            case GZIP -> new CompressingInputStream(stream, GZIPOutputStream::new);
+            case ZSTD -> Zstd.compress(stream);
+            default -> throw new IOException("Unknown compression codec " + codec);
+        };
+    }
+
+    /**
+     * Decompress a stream while it is read
+     *
+     * @param stream: the compressed {@link InputStream}
+     * @param codec:  the codec recorded in the metadata of the file, null if the file is not compressed
+     * @return the decompressed {@link InputStream}
+     * @throws IOException if the codec is unknown or the stream is not compressed by it
+     */
+    public InputStream decompress(InputStream stream, String codec) throws IOException {
+        if (codec == null) {
+            return stream;
+        }
+
+        try {
+            return switch (codec.toUpperCase()) {
+                case GZIP -> new GZIPInputStream(stream);
+                case ZSTD -> Zstd.decompress(stream);
+                default -> throw new IOException("Unknown compression codec " + codec);
+            };
+        } catch (IOException | RuntimeException ex) {
+            stream.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * The zstd codec, in its own class so that zstd-jni is only loaded when used
+     */
+    private static final class Zstd {
+        /**
+         * Compress a stream with zstd
+         *
+         * @param stream: the {@link InputStream} to compress
+         * @return the compressed {@link InputStream}
+         * @throws IOException if the compression cannot start
+         */
+        static InputStream compress(InputStream stream) throws IOException {
+            return new CompressingInputStream(stream, ZstdOutputStream::new);
+        }
+
+        /**
+         * Decompress a zstd stream
+         *
+         * @param stream: the compressed {@link InputStream}
+         * @return the decompressed {@link InputStream}
+         * @throws IOException if the decompression cannot start
+         */
+        static InputStream decompress(InputStream stream) throws IOException {
+            return new ZstdInputStream(stream);
+        }
+    }
+}
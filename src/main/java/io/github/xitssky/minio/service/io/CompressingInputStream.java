@@ -0,0 +1,123 @@
+package io.github.xitssky.minio.service.io;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * An {@link InputStream} compressing another one while it is read. The source is read by chunks, each chunk being
+ * pushed through the compressing {@link OutputStream}, so that only about a chunk is held in memory.
+ *
+ * @author quentin
+ */
+public class CompressingInputStream extends InputStream {
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    private final InputStream source;
+    private final ByteArrayOutputStream compressed = new ByteArrayOutputStream(CHUNK_SIZE);
+    private final OutputStream encoder;
+    private final byte[] chunk = new byte[CHUNK_SIZE];
+    private byte[] buffer = new byte[0];
+    private int position;
+    private boolean finished;
+
+    /**
+     * Constructor
+     *
+     * @param source:  the {@link InputStream} to compress
+     * @param encoder: the {@link Encoder} creating the compressing {@link OutputStream}
+     * @throws IOException if the encoder cannot be created
+     */
+    public CompressingInputStream(InputStream source, Encoder encoder) throws IOException {
+        this.source = source;
+        this.encoder = encoder.wrap(this.compressed);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int read() throws IOException {
+        final byte[] single = new byte[1];
+        return this.read(single, 0, 1) < 0 ? -1 : single[0] & 0xFF;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int read(byte[] destination, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        while (this.position >= this.buffer.length) {
+            if (this.finished) {
+                return -1;
+            }
+            this.fill();
+        }
+
+        final int read = Math.min(length, this.buffer.length - this.position);
+        System.arraycopy(this.buffer, this.position, destination, offset, read);
+        this.position += read;
+        return read;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int available() {
+        return this.buffer.length - this.position;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            this.source.close();
+        } finally {
+            if (!this.finished) {
+                this.finished = true;
+                this.encoder.close();
+            }
+        }
+    }
+
+    /**
+     * Compress the next chunk of the source, finishing the compression at its end
+     *
+     * @throws IOException if the source cannot be read
+     */
+    private void fill() throws IOException {
+        final int read = this.source.read(this.chunk);
+        if (read < 0) {
+            this.finished = true;
+            this.encoder.close();
+        } else {
+            this.encoder.write(this.chunk, 0, read);
+        }
+
+        this.buffer = this.compressed.toByteArray();
+        this.compressed.reset();
+        this.position = 0;
+    }
+
+    /**
+     * The function creating the compressing {@link OutputStream}
+     */
+    @FunctionalInterface
+    public interface Encoder {
+        /**
+         * Create the compressing {@link OutputStream}
+         *
+         * @param outputStream: the {@link OutputStream} receiving the compressed bytes
+         * @return the compressing {@link OutputStream}
+         * @throws IOException if the encoder cannot be created
+         */
+        OutputStream wrap(OutputStream outputStream) throws IOException;
+    }
+}
@@ -0,0 +1,94 @@
+package io.github.xitssky.minio.service.io;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.LongConsumer;
+
+/**
+ * An {@link InputStream} counting the bytes read from another one, and reporting the count once closed
+ *
+ * @author quentin
+ */
+public class CountingInputStream extends FilterInputStream {
+    private final LongConsumer onClose;
+    private long count;
+    private boolean closed;
+
+    /**
+     * Constructor
+     *
+     * @param inputStream: the {@link InputStream} to read
+     * @param onClose:     the {@link LongConsumer} receiving the count of read bytes once closed, null to report nothing
+     */
+    public CountingInputStream(InputStream inputStream, LongConsumer onClose) {
+        super(inputStream);
+        this.onClose = onClose;
+    }
+
+    /**
+     * Get the number of bytes read so far
+     *
+     * @return the count of bytes
+     */
+    public long getCount() {
+        return this.count;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int read() throws IOException {
+        final int read = super.read();
+        if (read >= 0) {
+            this.count++;
+        }
+        return read;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        final int read = super.read(buffer, offset, length);
+        if (read > 0) {
+            this.count += read;
+        }
+        return read;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long skip(long length) throws IOException {
+        final long skipped = super.skip(length);
+        this.count += skipped;
+        return skipped;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            super.close();
+        } finally {
+            if (!this.closed && this.onClose != null) {
+                this.onClose.accept(this.count);
+            }
+            this.closed = true;
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package io.github.xitssky.minio.service.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.NonWritableChannelException;
+import java.nio.channels.SeekableByteChannel;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A read-only {@link SeekableByteChannel} over a remote object, fetching aligned blocks with ranged requests. The last
+ * read blocks are kept in memory, so that the small reads of a columnar reader around the same position (footer,
+ * column chunk headers, ...) only transfer each block once. The missing blocks covered by a single read are fetched
+ * with a single request per as many blocks as are kept in memory.
+ *
+ * @author quentin
+ */
+public class MinioObjectChannel implements SeekableByteChannel {
+    private final long size;
+    private final int blockSize;
+    private final int cachedBlocks;
+    private final RangeReader reader;
+    private final Map<Long, byte[]> blocks;
+    private long position;
+    private boolean open = true;
+
+    /**
+     * Constructor
+     *
+     * @param size:         the size of the object
+     * @param blockSize:    the size of the fetched blocks
+     * @param cachedBlocks: the maximum number of blocks kept in memory
+     * @param reader:       the {@link RangeReader} fetching the ranges of the object
+     */
+    public MinioObjectChannel(long size, int blockSize, int cachedBlocks, RangeReader reader) {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("The block size must be positive");
+        }
+        this.size = size;
+        this.blockSize = blockSize;
+        this.cachedBlocks = Math.max(cachedBlocks, 1);
+        this.reader = reader;
+        this.blocks = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, byte[]> eldest) {
+                return this.size() > MinioObjectChannel.this.cachedBlocks;
+            }
+        };
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized int read(ByteBuffer destination) throws IOException {
+        this.ensureOpen();
+        if (this.position >= this.size) {
+            return -1;
+        }
+        if (!destination.hasRemaining()) {
+            return 0;
+        }
+
+        final long end = Math.min(this.size, this.position + destination.remaining());
+        final long last = (end - 1) / this.blockSize;
+
+        int read = 0;
+        while (this.position < end) {
+            final long index = this.position / this.blockSize;
+            byte[] block = this.blocks.get(index);
+            if (block == null) {
+                // No more blocks than are kept in memory, so that none is evicted before being copied
+                this.fetch(index, Math.min(last, index + this.cachedBlocks - 1));
+                block = this.blocks.get(index);
+                if (block == null) {
+                    throw new IOException("The object is shorter than its announced size");
+                }
+            }
+            final int offset = (int) (this.position % this.blockSize);
+            final int length = (int) Math.min(block.length - offset, end - this.position);
+            if (length <= 0) {
+                throw new IOException("The object is shorter than its announced size");
+            }
+            destination.put(block, offset, length);
+            this.position += length;
+            read += length;
+        }
+        return read;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int write(ByteBuffer source) {
+        throw new NonWritableChannelException();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized long position() throws IOException {
+        this.ensureOpen();
+        return this.position;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized SeekableByteChannel position(long newPosition) throws IOException {
+        this.ensureOpen();
+        if (newPosition < 0) {
+            throw new IllegalArgumentException("The position must not be negative");
+        }
+        this.position = newPosition;
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized long size() throws IOException {
+        this.ensureOpen();
+        return this.size;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public SeekableByteChannel truncate(long size) {
+        throw new NonWritableChannelException();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized boolean isOpen() {
+        return this.open;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void close() {
+        this.open = false;
+        this.blocks.clear();
+    }
+
+    /**
+     * Fetch the missing blocks of an interval with a single ranged request
+     *
+     * @param first: the index of the first block
+     * @param last:  the index of the last block
+     * @throws IOException if the range request fail
+     */
+    private void fetch(long first, long last) throws IOException {
+        while (first <= last && this.blocks.containsKey(first)) {
+            first++;
+        }
+        while (last >= first && this.blocks.containsKey(last)) {
+            last--;
+        }
+        if (first > last) {
+            return;
+        }
+
+        final long offset = first * this.blockSize;
+        final long length = Math.min(this.size, (last + 1) * this.blockSize) - offset;
+        final byte[] range = this.reader.read(offset, Math.toIntExact(length));
+        for (long index = first; index <= last; index++) {
+            final int start = (int) ((index - first) * this.blockSize);
+            if (start >= range.length) {
+                break;
+            }
+            final byte[] block = new byte[Math.min(this.blockSize, range.length - start)];
+            System.arraycopy(range, start, block, 0, block.length);
+            this.blocks.put(index, block);
+        }
+    }
+
+    /**
+     * Check that the channel is not closed
+     *
+     * @throws ClosedChannelException if the channel is closed
+     */
+    private void ensureOpen() throws ClosedChannelException {
+        if (!this.open) {
+            throw new ClosedChannelException();
+        }
+    }
+
+    /**
+     * The function fetching a range of the object
+     */
+    @FunctionalInterface
+    public interface RangeReader {
+        /**
+         * Fetch a range of the object
+         *
+         * @param offset: the position of the first byte
+         * @param length: the number of bytes
+         * @return the bytes of the range
+         * @throws IOException if the request fail
+         */
+        byte[] read(long offset, int length) throws IOException;
+    }
+}
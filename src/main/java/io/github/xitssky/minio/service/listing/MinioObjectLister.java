@@ -0,0 +1,168 @@
+package io.github.xitssky.minio.service.listing;
+
+import io.github.xitssky.minio.client.MinioExtendedClient;
+import io.github.xitssky.minio.exception.MinioRequestException;
+import io.github.xitssky.minio.exception.utils.LambdaExceptionUtils;
+import io.github.xitssky.minio.service.retry.MinioRetryPolicy;
+import io.github.xitssky.minio.service.model.MinioListRequest;
+import io.minio.messages.Item;
+import io.minio.messages.ListBucketResultV2;
+import io.minio.messages.Prefix;
+import lombok.RequiredArgsConstructor;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * The lister streaming the objects of a bucket page by page. The next page is requested as soon as the current one is
+ * received, so that the network latency overlaps the processing of the current page.
+ *
+ * @author quentin
+ */
+@RequiredArgsConstructor
+public class MinioObjectLister {
+    private static final int MAX_KEYS = 1000;
+
+    private final MinioExtendedClient client;
+
+    /**
+     * The retry policy of the page requests, null to send them only once
+     */
+    private final MinioRetryPolicy retryPolicy;
+
+    /**
+     * List the objects lazily. Closing the {@link Stream} cancels the page being prefetched.
+     *
+     * @param request: the {@link MinioListRequest}
+     * @param bucket:  the name of the bucket
+     * @return a {@link Stream} of {@link Item}, failing with a {@link MinioRequestException} if a page request fail
+     */
+    public Stream<Item> list(MinioListRequest request, String bucket) {
+        final PageIterator iterator = new PageIterator(request, bucket);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(iterator::close);
+    }
+
+    /**
+     * The {@link Iterator} over the items of the pages, holding the current page and the prefetched one
+     */
+    private class PageIterator implements Iterator<Item> {
+        private final MinioListRequest request;
+        private final String bucket;
+        private final Deque<Item> items = new ArrayDeque<>();
+        private CompletableFuture<ListBucketResultV2> nextPage;
+        private String nextToken;
+
+        /**
+         * Constructor, requesting the first page
+         *
+         * @param request: the {@link MinioListRequest}
+         * @param bucket:  the name of the bucket
+         */
+        PageIterator(MinioListRequest request, String bucket) {
+            this.request = request;
+            this.bucket = bucket;
+            this.nextPage = this.fetch(null);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean hasNext() {
+            while (this.items.isEmpty() && this.nextPage != null) {
+                this.receive();
+            }
+            return !this.items.isEmpty();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Item next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return this.items.poll();
+        }
+
+        /**
+         * Cancel the prefetched page
+         */
+        void close() {
+            if (this.nextPage != null) {
+                this.nextPage.cancel(true);
+                this.nextPage = null;
+            }
+        }
+
+        /**
+         * Wait for the requested page, request the following one and queue the items of the received page
+         */
+        private void receive() {
+            final ListBucketResultV2 page;
+            try {
+                page = this.receivePage();
+            } catch (Exception ex) {
+                this.nextPage = null;
+                throw new MinioRequestException("ListObjects", LambdaExceptionUtils.unwrap(ex));
+            }
+
+            // Prefetch before handing out the items of this page
+            this.nextToken = page.nextContinuationToken();
+            this.nextPage = page.isTruncated() ? this.fetch(this.nextToken) : null;
+
+            for (Item item : page.contents()) {
+                item.setEncodingType(page.encodingType());
+                this.items.add(item);
+            }
+            for (Prefix prefix : page.commonPrefixes()) {
+                final Item item = prefix.toItem();
+                item.setEncodingType(page.encodingType());
+                this.items.add(item);
+            }
+        }
+
+        /**
+         * Wait for the requested page, requesting it again while it fails with a transient error
+         *
+         * @return the page
+         * @throws Exception if the page request fail
+         */
+        private ListBucketResultV2 receivePage() throws Exception {
+            try {
+                return this.nextPage.join();
+            } catch (Exception ex) {
+                if (MinioObjectLister.this.retryPolicy == null) {
+                    throw ex;
+                }
+                final String token = this.nextToken;
+                return MinioObjectLister.this.retryPolicy.resume(() -> this.fetch(token).join(), ex);
+            }
+        }
+
+        /**
+         * Request a page
+         *
+         * @param continuationToken: the token of the page, null for the first page
+         * @return the page as a {@link CompletableFuture}
+         */
+        private CompletableFuture<ListBucketResultV2> fetch(String continuationToken) {
+            try {
+                return MinioObjectLister.this.client.listObjectsPage(this.bucket, this.request.getPrefix(), this.request.getDelimiter(),
+                        continuationToken == null ? this.request.getStartAfter() : null,
+                        Math.min(this.request.getMaxKeys(), MAX_KEYS), continuationToken);
+            } catch (Exception ex) {
+                return CompletableFuture.failedFuture(ex);
+            }
+        }
+    }
+}
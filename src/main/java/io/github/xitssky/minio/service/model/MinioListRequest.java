@@ -0,0 +1,34 @@
+package io.github.xitssky.minio.service.model;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * The options of an object listing
+ *
+ * @author quentin
+ */
+@Getter
+@Builder
+public class MinioListRequest {
+    /**
+     * The prefix of the listed objects, all objects if not provided
+     */
+    private final String prefix;
+
+    /**
+     * The delimiter grouping the objects by common prefix, returned as directory items. Recursive if not provided
+     */
+    private final String delimiter;
+
+    /**
+     * The object name after which the listing starts
+     */
+    private final String startAfter;
+
+    /**
+     * The number of objects fetched by page (max 1000)
+     */
+    @Builder.Default
+    private final int maxKeys = 1000;
+}
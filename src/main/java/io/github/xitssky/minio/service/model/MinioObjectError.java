@@ -0,0 +1,39 @@
+package io.github.xitssky.minio.service.model;
+
+import io.minio.errors.ErrorResponseException;
+import io.minio.messages.ErrorResponse;
+
+/**
+ * The failure of a bulk operation on a single object
+ *
+ * @param filename: the name of the object
+ * @param code:     the Minio error code, or the exception type if the request itself failed
+ * @param message:  the error message
+ * @author quentin
+ */
+public record MinioObjectError(String filename, String code, String message) {
+
+    /**
+     * Create the error of an object from a Minio {@link ErrorResponse}
+     *
+     * @param error: the {@link ErrorResponse}
+     * @return the {@link MinioObjectError}
+     */
+    public static MinioObjectError of(ErrorResponse error) {
+        return new MinioObjectError(error.objectName(), error.code(), error.message());
+    }
+
+    /**
+     * Create the error of an object from the failure of the request sent for it
+     *
+     * @param filename: the name of the object
+     * @param cause:    the failure of the request
+     * @return the {@link MinioObjectError}
+     */
+    public static MinioObjectError of(String filename, Throwable cause) {
+        if (cause instanceof ErrorResponseException errorResponseException) {
+            return new MinioObjectError(filename, errorResponseException.errorResponse().code(), cause.getMessage());
+        }
+        return new MinioObjectError(filename, cause.getClass().getSimpleName(), cause.getMessage());
+    }
+}
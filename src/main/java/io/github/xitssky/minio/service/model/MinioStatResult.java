@@ -0,0 +1,68 @@
+package io.github.xitssky.minio.service.model;
+
+import io.github.xitssky.minio.exception.utils.LambdaExceptionUtils;
+import io.minio.StatObjectResponse;
+import io.minio.errors.ErrorResponseException;
+
+import java.util.Set;
+
+/**
+ * The result of a file information lookup of a bulk operation: the information of the file, nothing if the file does
+ * not exist, or the error of the lookup
+ *
+ * @param information: the information of the file, null if it does not exist or the lookup failed
+ * @param error:       the error of the lookup, null if it succeeded
+ * @author quentin
+ */
+public record MinioStatResult(StatObjectResponse information, MinioObjectError error) {
+    private static final Set<String> NOT_FOUND_CODES = Set.of("NoSuchKey", "NoSuchObject", "ResourceNotFound");
+
+    /**
+     * Check whether a lookup failed because the file does not exist
+     *
+     * @param cause: the failure of the lookup
+     * @return a {@link Boolean}
+     */
+    public static boolean isNotFound(Throwable cause) {
+        return LambdaExceptionUtils.unwrap(cause) instanceof ErrorResponseException errorResponseException &&
+                NOT_FOUND_CODES.contains(errorResponseException.errorResponse().code());
+    }
+
+    /**
+     * Create the result of a failed lookup
+     *
+     * @param filename: the name of the file
+     * @param cause:    the failure of the lookup
+     * @return the {@link MinioStatResult}, not found or failed
+     */
+    public static MinioStatResult of(String filename, Throwable cause) {
+        return isNotFound(cause) ? new MinioStatResult(null, null) : new MinioStatResult(null, MinioObjectError.of(filename, cause));
+    }
+
+    /**
+     * Check whether the file exists
+     *
+     * @return a {@link Boolean}
+     */
+    public boolean isFound() {
+        return this.information != null;
+    }
+
+    /**
+     * Check whether the file does not exist
+     *
+     * @return a {@link Boolean}
+     */
+    public boolean isNotFound() {
+        return this.information == null && this.error == null;
+    }
+
+    /**
+     * Check whether the lookup failed for another reason than a missing file
+     *
+     * @return a {@link Boolean}
+     */
+    public boolean isFailed() {
+        return this.error != null;
+    }
+}
@@ -0,0 +1,27 @@
+package io.github.xitssky.minio.service.model;
+
+import java.time.Duration;
+
+/**
+ * The progress of a directory synchronization
+ *
+ * @param transferredFiles: the number of transferred files
+ * @param transferredBytes: the number of transferred bytes
+ * @param skippedFiles:     the number of unchanged files
+ * @param failedFiles:      the number of files which could not be transferred
+ * @param elapsed:          the time elapsed since the start of the synchronization
+ * @author quentin
+ */
+public record MinioSyncProgress(long transferredFiles, long transferredBytes, long skippedFiles, long failedFiles,
+                                Duration elapsed) {
+
+    /**
+     * Get the throughput of the transfers so far
+     *
+     * @return the throughput in bytes per second
+     */
+    public double throughput() {
+        final double seconds = this.elapsed.toNanos() / 1e9;
+        return seconds > 0 ? this.transferredBytes / seconds : 0;
+    }
+}
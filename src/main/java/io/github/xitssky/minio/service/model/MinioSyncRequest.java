@@ -0,0 +1,25 @@
+package io.github.xitssky.minio.service.model;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.function.Consumer;
+
+/**
+ * The options of a directory synchronization
+ *
+ * @author quentin
+ */
+@Getter
+@Builder
+public class MinioSyncRequest {
+    /**
+     * Whether the files missing from the source are deleted from the target or not
+     */
+    private final boolean deleteExtraneous;
+
+    /**
+     * The listener receiving the progress of the synchronization, none if not provided
+     */
+    private final Consumer<MinioSyncProgress> progressListener;
+}
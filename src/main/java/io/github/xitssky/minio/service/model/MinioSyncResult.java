@@ -0,0 +1,14 @@
+package io.github.xitssky.minio.service.model;
+
+import java.util.List;
+
+/**
+ * The result of a directory synchronization
+ *
+ * @param progress:     the final {@link MinioSyncProgress}
+ * @param deletedFiles: the number of extraneous files deleted from the target
+ * @param errors:       the {@link MinioObjectError} of the files which could not be transferred or deleted
+ * @author quentin
+ */
+public record MinioSyncResult(MinioSyncProgress progress, long deletedFiles, List<MinioObjectError> errors) {
+}
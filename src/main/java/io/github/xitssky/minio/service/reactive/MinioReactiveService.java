@@ -0,0 +1,171 @@
+package io.github.xitssky.minio.service.reactive;
+
+import io.github.xitssky.minio.exception.MinioRequestException;
+import io.github.xitssky.minio.service.async.MinioAsyncService;
+import io.minio.StatObjectResponse;
+import io.minio.messages.Bucket;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.File;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Map;
+
+/**
+ * The Reactor adapter of the {@link MinioAsyncService}. The requests are sent on subscription, and the publishers fail
+ * with a {@link MinioRequestException} if the request fail.
+ *
+ * @author quentin
+ */
+@RequiredArgsConstructor
+public class MinioReactiveService {
+    private final MinioAsyncService minioAsyncService;
+
+    /**
+     * Get all buckets available on Minio
+     *
+     * @return a {@link Flux} of {@link Bucket}
+     */
+    public Flux<Bucket> findAllBuckets() {
+        return Mono.fromFuture(this.minioAsyncService::findAllBuckets).flatMapIterable(buckets -> buckets);
+    }
+
+    /**
+     * Is bucket exists on Minio
+     *
+     * @param bucket: the bucket name
+     * @return the {@link Boolean} as a {@link Mono}
+     */
+    public Mono<Boolean> bucketExists(String bucket) {
+        return Mono.fromFuture(() -> this.minioAsyncService.bucketExists(bucket));
+    }
+
+    /**
+     * Get a bucket from Minio
+     *
+     * @param bucket: the bucket name
+     * @return the {@link Bucket} as a {@link Mono}
+     */
+    public Mono<Bucket> findBucket(String bucket) {
+        return Mono.fromFuture(() -> this.minioAsyncService.findBucket(bucket));
+    }
+
+    /**
+     * Create a Bucket
+     *
+     * @param bucket: the name of the bucket to create
+     * @return the created {@link Bucket} as a {@link Mono}
+     */
+    public Mono<Bucket> createBucket(String bucket) {
+        return Mono.fromFuture(() -> this.minioAsyncService.createBucket(bucket));
+    }
+
+    /**
+     * Remove a Bucket
+     *
+     * @param bucket: the name of the bucket to remove
+     * @return a {@link Mono} completed once the bucket is removed
+     */
+    public Mono<Void> removeBucket(String bucket) {
+        return Mono.fromFuture(() -> this.minioAsyncService.removeBucket(bucket));
+    }
+
+    /**
+     * Get the file information
+     *
+     * @param filename: the filename
+     * @param bucket:   the name of the bucket on which upload the file
+     * @return information as the {@link StatObjectResponse} as a {@link Mono}
+     */
+    public Mono<StatObjectResponse> getFileInformation(String filename, String bucket) {
+        return Mono.fromFuture(() -> this.minioAsyncService.getFileInformation(filename, bucket));
+    }
+
+    /**
+     * Download a file from Minio
+     *
+     * @param filename: the filename
+     * @param bucket:   the name of the bucket on which upload the file
+     * @return the file as {@link InputStream} as a {@link Mono}
+     */
+    public Mono<InputStream> download(String filename, String bucket) {
+        return Mono.fromFuture(() -> this.minioAsyncService.download(filename, bucket));
+    }
+
+    /**
+     * Download a file from Minio
+     *
+     * @param path:     the path of the file to create
+     * @param filename: the filename
+     * @param bucket:   the name of the bucket on which upload the file
+     * @return the {@link File} as a {@link Mono}
+     */
+    public Mono<File> download(String path, String filename, String bucket) {
+        return Mono.fromFuture(() -> this.minioAsyncService.download(path, filename, bucket));
+    }
+
+    /**
+     * Upload a file to Minio
+     *
+     * @param file:     the {@link File} to upload
+     * @param filename: the filename
+     * @param bucket:   the name of the bucket on which upload the file
+     * @param metadata: the user metadata as {@link Map} of {@link String}, may be null
+     * @return a {@link Mono} completed once the file is uploaded
+     */
+    public Mono<Void> upload(File file, String filename, String bucket, Map<String, String> metadata) {
+        return Mono.fromFuture(() -> this.minioAsyncService.upload(file, filename, bucket, metadata));
+    }
+
+    /**
+     * Upload a stream of unknown length to Minio. The stream is not closed.
+     *
+     * @param stream:   the {@link InputStream} to upload
+     * @param filename: the filename
+     * @param bucket:   the name of the bucket on which upload the file
+     * @param metadata: the user metadata as {@link Map} of {@link String}, may be null
+     * @return a {@link Mono} completed once the stream is uploaded
+     */
+    public Mono<Void> upload(InputStream stream, String filename, String bucket, Map<String, String> metadata) {
+        return Mono.fromFuture(() -> this.minioAsyncService.upload(stream, filename, bucket, metadata));
+    }
+
+    /**
+     * Upload a content held in memory to Minio
+     *
+     * @param content:  the content to upload
+     * @param filename: the filename
+     * @param bucket:   the name of the bucket on which upload the file
+     * @param metadata: the user metadata as {@link Map} of {@link String}, may be null
+     * @return a {@link Mono} completed once the content is uploaded
+     */
+    public Mono<Void> upload(byte[] content, String filename, String bucket, Map<String, String> metadata) {
+        return Mono.fromFuture(() -> this.minioAsyncService.upload(content, filename, bucket, metadata));
+    }
+
+    /**
+     * Upload the remaining bytes of a buffer to Minio. The position of the buffer is left unchanged.
+     *
+     * @param content:  the {@link ByteBuffer} to upload
+     * @param filename: the filename
+     * @param bucket:   the name of the bucket on which upload the file
+     * @param metadata: the user metadata as {@link Map} of {@link String}, may be null
+     * @return a {@link Mono} completed once the content is uploaded
+     */
+    public Mono<Void> upload(ByteBuffer content, String filename, String bucket, Map<String, String> metadata) {
+        return Mono.fromFuture(() -> this.minioAsyncService.upload(content, filename, bucket, metadata));
+    }
+
+    /**
+     * Remove a file from Minio
+     *
+     * @param filename: the filename
+     * @param bucket:   the name of the bucket on which upload the file
+     * @return a {@link Mono} completed once the file is removed
+     */
+    public Mono<Void> remove(String filename, String bucket) {
+        return Mono.fromFuture(() -> this.minioAsyncService.remove(filename, bucket));
+    }
+}
@@ -0,0 +1,181 @@
+package io.github.xitssky.minio.service.retry;
+
+import io.github.xitssky.minio.configuration.properties.MinioHedging;
+import io.github.xitssky.minio.executor.MinioTaskExecutor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The hedged reads engine. A GET slower than the configured percentile of the recent GET latencies is sent a second
+ * time, and the first response received is kept while the other one is closed.
+ *
+ * @author quentin
+ */
+@Slf4j
+public class MinioHedgedReader {
+    private static final int REFRESH_INTERVAL = 100;
+
+    private final MinioTaskExecutor executor;
+    private final MinioHedging configuration;
+
+    /**
+     * The recent latencies in nanoseconds, used as a ring buffer. Guarded by itself, as well as {@link #count}.
+     */
+    private final long[] latencies;
+    private long count;
+
+    /**
+     * The delay before the second request in nanoseconds, refreshed every {@link #REFRESH_INTERVAL} latencies
+     */
+    private volatile long delay;
+
+    /**
+     * Whether the first {@link #REFRESH_INTERVAL} latencies were recorded, the reads are not hedged before
+     */
+    private volatile boolean warm;
+
+    /**
+     * Constructor
+     *
+     * @param executor:      the {@link MinioTaskExecutor} sending the requests
+     * @param configuration: the {@link MinioHedging} configuration
+     */
+    public MinioHedgedReader(MinioTaskExecutor executor, MinioHedging configuration) {
+        this.executor = executor;
+        this.configuration = configuration;
+        this.latencies = new long[Math.max(configuration.getWindow(), 1)];
+        this.delay = configuration.getMinDelay().toNanos();
+    }
+
+    /**
+     * Send a read request, sending it a second time if it is too slow
+     *
+     * @param request: the {@link Callable} sending the request, its response is closed if it is not kept
+     * @param <T>:     the response type
+     * @return the first response received
+     * @throws Exception the failure of the request if both attempts fail
+     */
+    public <T extends Closeable> T execute(Callable<T> request) throws Exception {
+        // The minimum delay is not a meaningful percentile until enough latencies are known
+        if (!this.warm) {
+            return this.timed(request);
+        }
+
+        final CompletableFuture<T> first = this.executor.submit(() -> this.timed(request));
+        try {
+            return first.get(this.delay, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            log.debug("Hedging a Minio read slower than {} ms", TimeUnit.NANOSECONDS.toMillis(this.delay));
+        } catch (ExecutionException ex) {
+            throw cause(ex);
+        } catch (InterruptedException ex) {
+            first.thenAccept(MinioHedgedReader::close);
+            throw ex;
+        }
+
+        final CompletableFuture<T> second = this.executor.submit(() -> this.timed(request));
+        final CompletableFuture<T> winner = new CompletableFuture<>();
+        final AtomicInteger failures = new AtomicInteger();
+        for (CompletableFuture<T> attempt : Arrays.asList(first, second)) {
+            attempt.whenComplete((response, failure) -> {
+                if (failure == null) {
+                    if (!winner.complete(response)) {
+                        close(response);
+                    }
+                } else if (failures.incrementAndGet() == 2) {
+                    winner.completeExceptionally(failure);
+                }
+            });
+        }
+
+        try {
+            return winner.get();
+        } catch (ExecutionException ex) {
+            throw cause(ex);
+        } catch (InterruptedException ex) {
+            winner.thenAccept(MinioHedgedReader::close);
+            throw ex;
+        }
+    }
+
+    /**
+     * Get the current delay before the second request
+     *
+     * @return the delay in milliseconds
+     */
+    public long getDelay() {
+        return TimeUnit.NANOSECONDS.toMillis(this.delay);
+    }
+
+    /**
+     * Send a request and record its latency if it succeeds
+     *
+     * @param request: the {@link Callable} sending the request
+     * @param <T>:     the response type
+     * @return the response
+     * @throws Exception if the request fail
+     */
+    private <T> T timed(Callable<T> request) throws Exception {
+        final long start = System.nanoTime();
+        final T response = request.call();
+        this.record(System.nanoTime() - start);
+        return response;
+    }
+
+    /**
+     * Record a latency, and refresh the delay periodically
+     *
+     * @param latency: the latency in nanoseconds
+     */
+    private void record(long latency) {
+        final long[] window;
+        synchronized (this.latencies) {
+            this.latencies[(int) (this.count % this.latencies.length)] = latency;
+            this.count++;
+            if (this.count % REFRESH_INTERVAL != 0) {
+                return;
+            }
+            window = Arrays.copyOf(this.latencies, (int) Math.min(this.count, this.latencies.length));
+        }
+
+        Arrays.sort(window);
+        final int index = (int) Math.min(window.length - 1, Math.ceil(this.configuration.getPercentile() * window.length) - 1);
+        this.delay = Math.max(this.configuration.getMinDelay().toNanos(), window[Math.max(index, 0)]);
+        this.warm = true;
+    }
+
+    /**
+     * Get the failure of a request from its {@link ExecutionException}, an {@link Error} being thrown as is
+     *
+     * @param ex: the {@link ExecutionException}
+     * @return the failure of the request
+     */
+    private static Exception cause(ExecutionException ex) {
+        if (ex.getCause() instanceof Error error) {
+            throw error;
+        }
+        return ex.getCause() instanceof Exception cause ? cause : ex;
+    }
+
+    /**
+     * Close a response that is not kept, the failure of the closing is only logged
+     *
+     * @param response: the response
+     */
+    private static void close(Closeable response) {
+        try {
+            response.close();
+        } catch (IOException ex) {
+            log.warn("Fail to close a hedged Minio response", ex);
+        }
+    }
+}
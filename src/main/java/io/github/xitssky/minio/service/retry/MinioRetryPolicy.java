@@ -0,0 +1,159 @@
+package io.github.xitssky.minio.service.retry;
+
+import io.github.xitssky.minio.configuration.properties.MinioRetry;
+import io.github.xitssky.minio.exception.utils.LambdaExceptionUtils;
+import io.minio.errors.ErrorResponseException;
+import io.minio.errors.ServerException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The retry policy of the idempotent requests. A request failing with a transient error (5xx status, SlowDown, I/O
+ * failure) is retried after a jittered exponential backoff. The retries are drawn from a budget refilled by each
+ * request, so that a failing Minio is not flooded with retries.
+ *
+ * @author quentin
+ */
+@Slf4j
+public class MinioRetryPolicy {
+    private static final Set<String> RETRYABLE_CODES = Set.of("SlowDown", "ServiceUnavailable", "InternalError",
+            "RequestTimeout", "XMinioServerNotInitialized");
+    private static final long TOKEN = 1000;
+
+    private final MinioRetry configuration;
+    private final long capacity;
+    private final long deposit;
+
+    /**
+     * The retries left in the budget, in thousandths of retry. Guarded by this.
+     */
+    private long tokens;
+
+    /**
+     * Constructor
+     *
+     * @param configuration: the {@link MinioRetry} configuration
+     */
+    public MinioRetryPolicy(MinioRetry configuration) {
+        this.configuration = configuration;
+        this.capacity = configuration.getBudgetCapacity() * TOKEN;
+        this.deposit = Math.round(configuration.getBudgetRatio() * TOKEN);
+        this.tokens = this.capacity;
+    }
+
+    /**
+     * Send a request, retrying it while it fails with a transient error
+     *
+     * @param request: the {@link Callable} sending the request, called once per attempt
+     * @param <T>:     the result type of the request
+     * @return the result of the first successful attempt
+     * @throws Exception the failure of the last attempt
+     */
+    public <T> T execute(Callable<T> request) throws Exception {
+        this.deposit();
+        try {
+            return request.call();
+        } catch (Exception ex) {
+            return this.retry(request, 1, ex);
+        }
+    }
+
+    /**
+     * Retry a request whose first attempt already failed
+     *
+     * @param request: the {@link Callable} sending the request, called once per retry
+     * @param failure: the failure of the first attempt
+     * @param <T>:     the result type of the request
+     * @return the result of the first successful retry
+     * @throws Exception the failure of the last attempt
+     */
+    public <T> T resume(Callable<T> request, Exception failure) throws Exception {
+        this.deposit();
+        return this.retry(request, 1, failure);
+    }
+
+    /**
+     * Check whether a failure is transient
+     *
+     * @param failure: the failure
+     * @return a {@link Boolean}
+     */
+    public boolean isRetryable(Throwable failure) {
+        final Throwable cause = LambdaExceptionUtils.unwrap(failure);
+        if (cause instanceof ErrorResponseException ex) {
+            return RETRYABLE_CODES.contains(ex.errorResponse().code())
+                    || (ex.response() != null && ex.response().code() >= 500);
+        }
+        if (cause instanceof ServerException ex) {
+            return ex.statusCode() >= 500;
+        }
+        return cause instanceof IOException;
+    }
+
+    /**
+     * Retry a failed request until it succeeds, the attempts are exhausted, the budget is spent or the failure is not
+     * transient
+     *
+     * @param request:  the {@link Callable} sending the request
+     * @param attempts: the number of attempts already made
+     * @param failure:  the failure of the last attempt
+     * @param <T>:      the result type of the request
+     * @return the result of the first successful attempt
+     * @throws Exception the failure of the last attempt
+     */
+    private <T> T retry(Callable<T> request, int attempts, Exception failure) throws Exception {
+        while (attempts < this.configuration.getMaxAttempts() && this.isRetryable(failure) && this.withdraw()) {
+            try {
+                Thread.sleep(this.getBackoff(attempts));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw failure;
+            }
+
+            log.debug("Retrying a Minio request after attempt {} failed", attempts, failure);
+            attempts++;
+            try {
+                return request.call();
+            } catch (Exception ex) {
+                failure = ex;
+            }
+        }
+        throw failure;
+    }
+
+    /**
+     * Get the randomized backoff before a retry
+     *
+     * @param attempts: the number of attempts already made
+     * @return the backoff in milliseconds
+     */
+    private long getBackoff(int attempts) {
+        final long initial = this.configuration.getInitialBackoff().toMillis();
+        final long ceiling = Math.min(this.configuration.getMaxBackoff().toMillis(), initial << Math.min(attempts - 1, 30));
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    /**
+     * Add the retries earned by a request to the budget
+     */
+    private synchronized void deposit() {
+        this.tokens = Math.min(this.capacity, this.tokens + this.deposit);
+    }
+
+    /**
+     * Take a retry from the budget
+     *
+     * @return whether the budget had a retry left
+     */
+    private synchronized boolean withdraw() {
+        if (this.tokens < TOKEN) {
+            return false;
+        }
+        this.tokens -= TOKEN;
+        return true;
+    }
+}
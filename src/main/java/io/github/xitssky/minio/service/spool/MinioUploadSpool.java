@@ -0,0 +1,598 @@
+package io.github.xitssky.minio.service.spool;
+
+import io.github.xitssky.minio.configuration.properties.MinioSpool;
+import io.github.xitssky.minio.exception.InvalidMinioConfigurationException;
+import io.github.xitssky.minio.exception.MinioRequestException;
+import io.github.xitssky.minio.service.MinioFileService;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * The durable write-behind queue of the uploads. An upload is accepted once its content and its journal entry are
+ * written to the spool directory, then sent to Minio in the background. The accepted uploads wait for room when the
+ * spool is full, and the uploads being sent are bounded by their total size. The uploads of a same file are sent one
+ * after the other in the order they were accepted, the waiting ones being superseded by a newer upload, so that the
+ * last accepted upload of a file always wins. The uploads still in the spool are sent again on restart, and the ones
+ * failing every attempt are moved to the failed directory of the spool.
+ *
+ * @author quentin
+ */
+@Slf4j
+public class MinioUploadSpool implements AutoCloseable {
+    private static final String THREAD_PREFIX = "minio-spool-";
+    private static final String DATA_SUFFIX = ".data";
+    private static final String JOURNAL_SUFFIX = ".journal";
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+    private static final String FAILED_DIRECTORY = "failed";
+    private static final String METADATA_PREFIX = "metadata.";
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    private final MinioFileService fileService;
+    private final MinioSpool configuration;
+    private final Path directory;
+    private final ScheduledExecutorService executor;
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicInteger pending = new AtomicInteger();
+
+    /**
+     * The lock guarding the spooled and in flight sizes, notified when they decrease
+     */
+    private final Object lock = new Object();
+
+    /**
+     * The accepted uploads of each file, the first one being sent. Guarded by the lock.
+     */
+    private final Map<String, Deque<Entry>> queues = new HashMap<>();
+    private long spooledBytes;
+    private long inFlightBytes;
+    private volatile boolean closed;
+
+    /**
+     * Constructor, sending again the uploads left in the spool directory
+     *
+     * @param fileService:   the {@link MinioFileService} sending the uploads
+     * @param configuration: the {@link MinioSpool} configuration
+     * @throws InvalidMinioConfigurationException if the directory cannot be used
+     */
+    public MinioUploadSpool(MinioFileService fileService, MinioSpool configuration) throws InvalidMinioConfigurationException {
+        this.fileService = fileService;
+        this.configuration = configuration;
+        this.directory = configuration.getDirectory();
+
+        if (this.directory == null) {
+            throw new InvalidMinioConfigurationException("spool.directory", "a writable directory");
+        }
+        try {
+            Files.createDirectories(this.directory.resolve(FAILED_DIRECTORY));
+        } catch (IOException ex) {
+            throw new InvalidMinioConfigurationException("spool.directory", "a writable directory");
+        }
+
+        this.executor = Executors.newScheduledThreadPool(Math.max(1, configuration.getParallelism()), daemonThreadFactory());
+        try {
+            this.replay();
+        } catch (IOException | UncheckedIOException ex) {
+            this.executor.shutdownNow();
+            throw new InvalidMinioConfigurationException("spool.directory", "a readable directory");
+        }
+    }
+
+    /**
+     * Accept an upload, returning once it is journaled
+     *
+     * @param stream:   the {@link InputStream} to upload, left open
+     * @param filename: the name of the file to upload
+     * @param bucket:   the bucket on where upload the file
+     * @param metadata: the optional metadata to add to the file
+     * @return a {@link CompletableFuture} completed once the file is uploaded
+     * @throws MinioRequestException if the spool stays full or the upload cannot be journaled
+     */
+    public CompletableFuture<Void> enqueue(InputStream stream, String filename, String bucket, Map<String, String> metadata) throws MinioRequestException {
+        if (this.closed) {
+            throw new MinioRequestException("SpoolUpload", new IllegalStateException("The upload spool is closed"));
+        }
+
+        final String id = String.format("%013d-%010d", System.currentTimeMillis(), this.sequence.incrementAndGet());
+        final Path temporary = this.directory.resolve(id + DATA_SUFFIX + TEMPORARY_SUFFIX);
+        long size = 0;
+        try {
+            // Reserve the room of each chunk before writing it, waiting for the drained uploads to free some
+            try (final FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                final byte[] chunk = new byte[CHUNK_SIZE];
+                int read;
+                while ((read = stream.read(chunk)) >= 0) {
+                    this.reserve(read);
+                    size += read;
+                    final ByteBuffer buffer = ByteBuffer.wrap(chunk, 0, read);
+                    while (buffer.hasRemaining()) {
+                        channel.write(buffer);
+                    }
+                }
+                channel.force(true);
+            }
+            Files.move(temporary, this.directory.resolve(id + DATA_SUFFIX), StandardCopyOption.ATOMIC_MOVE);
+
+            // The journal entry is the commit point of the upload
+            final Entry entry = new Entry(id, filename, bucket, metadata != null ? Map.copyOf(metadata) : Map.of(), size,
+                    new CompletableFuture<>());
+            this.journal(entry);
+            this.submit(entry);
+            return entry.future();
+        } catch (IOException | InterruptedException | TimeoutException ex) {
+            if (ex instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            this.release(size);
+            this.delete(temporary);
+            this.delete(this.directory.resolve(id + DATA_SUFFIX));
+            this.delete(this.directory.resolve(id + JOURNAL_SUFFIX + TEMPORARY_SUFFIX));
+            throw new MinioRequestException("SpoolUpload", ex);
+        }
+    }
+
+    /**
+     * Accept an upload, returning once it is journaled
+     *
+     * @param content:  the content to upload
+     * @param filename: the name of the file to upload
+     * @param bucket:   the bucket on where upload the file
+     * @param metadata: the optional metadata to add to the file
+     * @return a {@link CompletableFuture} completed once the file is uploaded
+     * @throws MinioRequestException if the spool stays full or the upload cannot be journaled
+     */
+    public CompletableFuture<Void> enqueue(byte[] content, String filename, String bucket, Map<String, String> metadata) throws MinioRequestException {
+        return this.enqueue(new ByteArrayInputStream(content), filename, bucket, metadata);
+    }
+
+    /**
+     * Accept an upload, returning once a copy of the file is journaled
+     *
+     * @param file:     the file to upload
+     * @param filename: the name of the file to upload
+     * @param bucket:   the bucket on where upload the file
+     * @param metadata: the optional metadata to add to the file
+     * @return a {@link CompletableFuture} completed once the file is uploaded
+     * @throws MinioRequestException if the spool stays full or the upload cannot be journaled
+     */
+    public CompletableFuture<Void> enqueue(File file, String filename, String bucket, Map<String, String> metadata) throws MinioRequestException {
+        try (final InputStream stream = Files.newInputStream(file.toPath())) {
+            return this.enqueue(stream, filename, bucket, metadata);
+        } catch (IOException ex) {
+            throw new MinioRequestException("SpoolUpload", ex);
+        }
+    }
+
+    /**
+     * Get the number of accepted uploads not sent yet
+     *
+     * @return the number of pending uploads
+     */
+    public int getPendingCount() {
+        return this.pending.get();
+    }
+
+    /**
+     * Get the total size of the spooled uploads
+     *
+     * @return the size in bytes
+     */
+    public long getSpooledBytes() {
+        synchronized (this.lock) {
+            return this.spooledBytes;
+        }
+    }
+
+    /**
+     * Stop sending the uploads, the pending ones being left in the spool until the next start. Their futures fail.
+     */
+    @Override
+    public void close() {
+        this.closed = true;
+        this.executor.shutdownNow();
+
+        final List<Entry> abandoned = new ArrayList<>();
+        synchronized (this.lock) {
+            this.queues.values().forEach(abandoned::addAll);
+            this.queues.clear();
+            this.lock.notifyAll();
+        }
+        final MinioRequestException failure = new MinioRequestException("SpoolUpload",
+                new IllegalStateException("The upload spool is closed, the upload is sent again on the next start"));
+        for (Entry entry : abandoned) {
+            this.finish(entry, failure);
+        }
+    }
+
+    /**
+     * Schedule the journaled uploads left by a previous run, in the order they were accepted, and drop the uploads
+     * which were not completely journaled
+     *
+     * @throws IOException if the directory cannot be read
+     */
+    private void replay() throws IOException {
+        final List<Path> files;
+        try (final Stream<Path> listing = Files.list(this.directory)) {
+            files = listing.filter(Files::isRegularFile).sorted().toList();
+        }
+
+        for (Path file : files) {
+            final String name = file.getFileName().toString();
+            if (name.endsWith(TEMPORARY_SUFFIX)) {
+                this.delete(file);
+            } else if (name.endsWith(DATA_SUFFIX) && !Files.exists(this.directory.resolve(name.replace(DATA_SUFFIX, JOURNAL_SUFFIX)))) {
+                this.delete(file);
+            } else if (name.endsWith(JOURNAL_SUFFIX)) {
+                final Entry entry = this.read(name.substring(0, name.length() - JOURNAL_SUFFIX.length()));
+                if (entry == null) {
+                    continue;
+                }
+                synchronized (this.lock) {
+                    this.spooledBytes += entry.size();
+                }
+                entry.future().whenComplete((result, ex) -> {
+                    if (ex != null && !this.closed) {
+                        log.warn("Replayed upload of {} to {} failed", entry.filename(), entry.bucket(), ex);
+                    }
+                });
+                this.submit(entry);
+            }
+        }
+        if (this.pending.get() > 0) {
+            log.info("Replaying {} pending uploads from {}", this.pending.get(), this.directory);
+        }
+    }
+
+    /**
+     * Write the journal entry of an upload
+     *
+     * @param entry: the {@link Entry}
+     * @throws IOException if the entry cannot be written
+     */
+    private void journal(Entry entry) throws IOException {
+        final Properties properties = new Properties();
+        properties.setProperty("filename", entry.filename());
+        properties.setProperty("bucket", entry.bucket());
+        properties.setProperty("size", Long.toString(entry.size()));
+        entry.metadata().forEach((key, value) -> properties.setProperty(METADATA_PREFIX + key, value));
+
+        final Path temporary = this.directory.resolve(entry.id() + JOURNAL_SUFFIX + TEMPORARY_SUFFIX);
+        try (final FileOutputStream outputStream = new FileOutputStream(temporary.toFile())) {
+            properties.store(outputStream, null);
+            outputStream.getFD().sync();
+        }
+        Files.move(temporary, this.directory.resolve(entry.id() + JOURNAL_SUFFIX), StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Read the journal entry of an upload
+     *
+     * @param id: the id of the upload
+     * @return the {@link Entry}, null if its content is missing
+     * @throws IOException if the entry cannot be read
+     */
+    private Entry read(String id) throws IOException {
+        if (!Files.exists(this.directory.resolve(id + DATA_SUFFIX))) {
+            log.warn("Dropping the spooled upload {} whose content is missing", id);
+            this.delete(this.directory.resolve(id + JOURNAL_SUFFIX));
+            return null;
+        }
+
+        final Properties properties = new Properties();
+        try (final InputStream stream = Files.newInputStream(this.directory.resolve(id + JOURNAL_SUFFIX))) {
+            properties.load(stream);
+        }
+        final Map<String, String> metadata = new HashMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            if (key.startsWith(METADATA_PREFIX)) {
+                metadata.put(key.substring(METADATA_PREFIX.length()), properties.getProperty(key));
+            }
+        }
+        return new Entry(id, properties.getProperty("filename"), properties.getProperty("bucket"), metadata,
+                Long.parseLong(properties.getProperty("size")), new CompletableFuture<>());
+    }
+
+    /**
+     * Queue an accepted upload behind the upload of the same file being sent, superseding the waiting ones
+     *
+     * @param entry: the accepted {@link Entry}
+     */
+    private void submit(Entry entry) {
+        this.pending.incrementAndGet();
+
+        final List<Entry> superseded = new ArrayList<>();
+        final boolean first;
+        synchronized (this.lock) {
+            final Deque<Entry> queue = this.queues.computeIfAbsent(entry.key(), key -> new ArrayDeque<>());
+            // Only the first upload is being sent, the waiting ones would be overwritten by this one
+            while (queue.size() > 1) {
+                superseded.add(queue.removeLast());
+            }
+            queue.addLast(entry);
+            first = queue.size() == 1;
+        }
+
+        for (Entry older : superseded) {
+            log.debug("Upload {} of {} to {} superseded by {}", older.id(), older.filename(), older.bucket(), entry.id());
+            this.delete(this.directory.resolve(older.id() + JOURNAL_SUFFIX));
+            this.delete(this.directory.resolve(older.id() + DATA_SUFFIX));
+            this.complete(older, null);
+        }
+        if (first) {
+            this.schedule(entry, 1, 0);
+        }
+    }
+
+    /**
+     * Schedule an attempt of an upload
+     *
+     * @param entry:   the {@link Entry} to upload
+     * @param attempt: the number of the attempt
+     * @param delay:   the delay before the attempt in milliseconds
+     */
+    private void schedule(Entry entry, int attempt, long delay) {
+        try {
+            this.executor.schedule(() -> this.drain(entry, attempt), delay, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException ex) {
+            // Closed meanwhile, the upload stays in the spool until the next start
+            log.debug("Upload of {} to {} left in the spool", entry.filename(), entry.bucket());
+        }
+    }
+
+    /**
+     * Send an upload to Minio, then remove it from the spool. The upload is always settled, even if an {@link Error}
+     * is thrown.
+     *
+     * @param entry:   the {@link Entry} to upload
+     * @param attempt: the number of the attempt
+     */
+    private void drain(Entry entry, int attempt) {
+        Throwable failure = null;
+        boolean inFlight = false;
+        try {
+            this.acquireInFlight(entry.size());
+            inFlight = true;
+
+            final Path data = this.directory.resolve(entry.id() + DATA_SUFFIX);
+            this.fileService.upload(data.toFile(), entry.filename(), entry.bucket(), entry.metadata().isEmpty() ? null : entry.metadata());
+            this.delete(this.directory.resolve(entry.id() + JOURNAL_SUFFIX));
+            this.delete(data);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            failure = ex;
+        } catch (RuntimeException | Error ex) {
+            failure = ex;
+            if (ex instanceof Error error) {
+                // Settled below, then rethrown
+                throw error;
+            }
+        } finally {
+            if (inFlight) {
+                this.releaseInFlight(entry.size());
+            }
+            this.settle(entry, attempt, failure);
+        }
+    }
+
+    /**
+     * Settle an attempt of an upload: retry it, or complete it and send the next upload of the same file
+     *
+     * @param entry:   the {@link Entry}
+     * @param attempt: the number of the attempt
+     * @param failure: the failure of the attempt, null if it succeeded
+     */
+    private void settle(Entry entry, int attempt, Throwable failure) {
+        if (failure != null && this.closed) {
+            // Left in the spool until the next start, its future failed by the closing
+            return;
+        }
+        if (failure instanceof RuntimeException && attempt < this.configuration.getMaxAttempts()) {
+            log.debug("Upload of {} to {} failed, attempt {}", entry.filename(), entry.bucket(), attempt, failure);
+            this.schedule(entry, attempt + 1, this.configuration.getRetryDelay().toMillis() * attempt);
+            return;
+        }
+
+        if (failure != null) {
+            this.fail(entry);
+        }
+        this.complete(entry, failure);
+
+        final Entry next;
+        synchronized (this.lock) {
+            final Deque<Entry> queue = this.queues.get(entry.key());
+            if (queue == null) {
+                return;
+            }
+            queue.remove(entry);
+            next = queue.peekFirst();
+            if (next == null) {
+                this.queues.remove(entry.key());
+            }
+        }
+        if (next != null) {
+            this.schedule(next, 1, 0);
+        }
+    }
+
+    /**
+     * Move an upload failing every attempt to the failed directory of the spool
+     *
+     * @param entry: the failed {@link Entry}
+     */
+    private void fail(Entry entry) {
+        final Path failed = this.directory.resolve(FAILED_DIRECTORY);
+        for (String suffix : List.of(DATA_SUFFIX, JOURNAL_SUFFIX)) {
+            try {
+                Files.move(this.directory.resolve(entry.id() + suffix), failed.resolve(entry.id() + suffix), StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException ex) {
+                log.warn("Cannot move the failed upload {} to {}", entry.id(), failed, ex);
+            }
+        }
+    }
+
+    /**
+     * Complete an upload, freeing its room in the spool
+     *
+     * @param entry:   the {@link Entry}
+     * @param failure: the failure of the upload, null if it succeeded
+     */
+    private void complete(Entry entry, Throwable failure) {
+        this.release(entry.size());
+        this.finish(entry, failure == null || failure instanceof MinioRequestException ?
+                failure :
+                new MinioRequestException("SpoolUpload", failure));
+    }
+
+    /**
+     * Complete the future of an upload, once it is no longer counted as pending so that its callers see it sent
+     *
+     * @param entry:   the {@link Entry}
+     * @param failure: the failure of the upload, null if it succeeded
+     */
+    private void finish(Entry entry, Throwable failure) {
+        this.pending.decrementAndGet();
+        final boolean completed = failure == null ? entry.future().complete(null) : entry.future().completeExceptionally(failure);
+        if (!completed) {
+            // Already completed by the closing or the settling of the upload
+            this.pending.incrementAndGet();
+        }
+    }
+
+    /**
+     * Reserve room in the spool, waiting for the drained uploads to free some
+     *
+     * @param bytes: the number of bytes to reserve
+     * @throws InterruptedException if the thread is interrupted while waiting
+     * @throws TimeoutException     if the spool stays full
+     */
+    private void reserve(long bytes) throws InterruptedException, TimeoutException {
+        final long deadline = System.nanoTime() + this.configuration.getAcceptTimeout().toNanos();
+        synchronized (this.lock) {
+            while (this.spooledBytes + bytes > this.configuration.getMaxSize().toBytes()) {
+                final long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (this.closed || remaining <= 0) {
+                    throw new TimeoutException("The upload spool is full");
+                }
+                this.lock.wait(remaining);
+            }
+            this.spooledBytes += bytes;
+        }
+    }
+
+    /**
+     * Free room in the spool
+     *
+     * @param bytes: the number of bytes to free
+     */
+    private void release(long bytes) {
+        synchronized (this.lock) {
+            this.spooledBytes -= bytes;
+            this.lock.notifyAll();
+        }
+    }
+
+    /**
+     * Wait until an upload can be sent without exceeding the maximum size in flight. An upload bigger than this size is
+     * sent alone.
+     *
+     * @param bytes: the size of the upload
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    private void acquireInFlight(long bytes) throws InterruptedException {
+        synchronized (this.lock) {
+            while (this.inFlightBytes > 0 && this.inFlightBytes + bytes > this.configuration.getMaxInFlight().toBytes()) {
+                this.lock.wait();
+            }
+            this.inFlightBytes += bytes;
+        }
+    }
+
+    /**
+     * Free the size of a sent upload
+     *
+     * @param bytes: the size of the upload
+     */
+    private void releaseInFlight(long bytes) {
+        synchronized (this.lock) {
+            this.inFlightBytes -= bytes;
+            this.lock.notifyAll();
+        }
+    }
+
+    /**
+     * Delete a file of the spool, if it exists
+     *
+     * @param path: the path of the file
+     */
+    private void delete(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ex) {
+            log.warn("Cannot delete the spool file {}", path, ex);
+        }
+    }
+
+    /**
+     * Get a {@link ThreadFactory} creating named daemon threads
+     *
+     * @return the {@link ThreadFactory}
+     */
+    private static ThreadFactory daemonThreadFactory() {
+        final AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            final Thread thread = new Thread(runnable, THREAD_PREFIX + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * An accepted upload
+     *
+     * @param id:       the id of the upload, ordering the uploads by acceptance
+     * @param filename: the name of the file to upload
+     * @param bucket:   the bucket on where upload the file
+     * @param metadata: the metadata to add to the file
+     * @param size:     the size of the content
+     * @param future:   the {@link CompletableFuture} completed once the file is uploaded
+     */
+    private record Entry(String id, String filename, String bucket, Map<String, String> metadata, long size,
+                         CompletableFuture<Void> future) {
+        /**
+         * Get the key of the uploaded file
+         *
+         * @return the bucket and the name of the file
+         */
+        String key() {
+            return this.bucket + "/" + this.filename;
+        }
+    }
+}
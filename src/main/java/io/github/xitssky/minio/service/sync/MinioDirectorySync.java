@@ -0,0 +1,449 @@
+package io.github.xitssky.minio.service.sync;
+
+import io.github.xitssky.minio.configuration.properties.MinioSync;
+import io.github.xitssky.minio.exception.MinioRequestException;
+import io.github.xitssky.minio.service.MinioFileService;
+import io.github.xitssky.minio.service.compression.MinioCompression;
+import io.github.xitssky.minio.service.model.MinioObjectError;
+import io.github.xitssky.minio.service.model.MinioSyncProgress;
+import io.github.xitssky.minio.service.model.MinioSyncRequest;
+import io.github.xitssky.minio.service.model.MinioSyncResult;
+import io.minio.messages.Item;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * The synchronization of local directory trees with the files of a bucket under a prefix. The remote files are listed
+ * lazily and compared with the local files by size and modification time, then by content digest against their ETag
+ * when only the time differs. The files of compressed buckets are compared by their size before compression, recorded
+ * in their user metadata. Only the changed files are transferred, in parallel on threads of the synchronization, so
+ * that the transfers can themselves use the shared task executor.
+ *
+ * @author quentin
+ */
+@Slf4j
+public class MinioDirectorySync {
+    private static final String THREAD_PREFIX = "minio-sync-";
+    private static final String SEPARATOR = "/";
+    private static final long MAPPED_REGION_SIZE = 256L * 1024 * 1024;
+    private static final long UNCHANGED = -1;
+
+    private final MinioFileService fileService;
+    private final MinioSync configuration;
+
+    /**
+     * The compression of the files of each bucket, null if the files are not compressed
+     */
+    private final MinioCompression compression;
+
+    /**
+     * Constructor
+     *
+     * @param fileService:   the {@link MinioFileService} transferring the files
+     * @param configuration: the {@link MinioSync} configuration
+     * @param compression:   the {@link MinioCompression} of the files of each bucket, null if the files are not compressed
+     */
+    public MinioDirectorySync(MinioFileService fileService, MinioSync configuration, MinioCompression compression) {
+        this.fileService = fileService;
+        this.configuration = configuration;
+        this.compression = compression;
+    }
+
+    /**
+     * Upload the new and changed files of a local directory tree to a bucket
+     *
+     * @param directory: the local directory
+     * @param prefix:    the prefix of the files on the bucket, the bucket root if null
+     * @param bucket:    the name of the bucket
+     * @param request:   the {@link MinioSyncRequest} options
+     * @return the {@link MinioSyncResult}
+     * @throws MinioRequestException if the directory or the bucket cannot be listed
+     */
+    public MinioSyncResult upload(Path directory, String prefix, String bucket, MinioSyncRequest request) throws MinioRequestException {
+        final String root = normalize(prefix);
+        final Progress progress = new Progress(request);
+
+        // Index the local files by filename, the remote listing being streamed against it
+        final Map<String, Path> files = new TreeMap<>();
+        try (final Stream<Path> walk = Files.walk(directory)) {
+            walk.filter(Files::isRegularFile)
+                    .forEach(path -> files.put(root + directory.relativize(path).toString().replace(path.getFileSystem().getSeparator(), SEPARATOR), path));
+        } catch (IOException | UncheckedIOException ex) {
+            throw new MinioRequestException("SyncUpload", ex);
+        }
+
+        // The files are compared on the workers, as the comparison may have to read them or stat the remote ones
+        final Map<String, Item> remote = new HashMap<>();
+        final List<String> extraneous = new ArrayList<>();
+        try (final Stream<Item> items = this.fileService.list(root.isEmpty() ? null : root, bucket)) {
+            items.filter(MinioDirectorySync::isFile).forEach(item -> {
+                if (files.containsKey(item.objectName())) {
+                    remote.put(item.objectName(), item);
+                } else if (request.isDeleteExtraneous()) {
+                    extraneous.add(item.objectName());
+                }
+            });
+        }
+
+        this.transfer(files.entrySet(), progress, entry -> {
+            final Item item = remote.get(entry.getKey());
+            if (item != null && this.isUnchanged(entry.getValue(), item, bucket, false)) {
+                return UNCHANGED;
+            }
+            final long size = Files.size(entry.getValue());
+            this.fileService.upload(entry.getValue().toFile(), entry.getKey(), bucket);
+            return size;
+        }, Map.Entry::getKey);
+
+        long deleted = 0;
+        if (!extraneous.isEmpty()) {
+            final List<MinioObjectError> errors = this.fileService.removeAll(extraneous, bucket);
+            deleted = extraneous.size() - errors.size();
+            progress.errors.addAll(errors);
+        }
+        return progress.result(deleted);
+    }
+
+    /**
+     * Download the new and changed files of a bucket under a prefix to a local directory tree. The modification time of
+     * the downloaded files is set to the one of the remote files.
+     *
+     * @param directory: the local directory
+     * @param prefix:    the prefix of the files on the bucket, the bucket root if null
+     * @param bucket:    the name of the bucket
+     * @param request:   the {@link MinioSyncRequest} options
+     * @return the {@link MinioSyncResult}
+     * @throws MinioRequestException if the directory or the bucket cannot be listed
+     */
+    public MinioSyncResult download(Path directory, String prefix, String bucket, MinioSyncRequest request) throws MinioRequestException {
+        final String root = normalize(prefix);
+        final Path target = directory.toAbsolutePath().normalize();
+        final Progress progress = new Progress(request);
+        final Set<Path> listed = new HashSet<>();
+
+        // The changed files are transferred while the listing goes on
+        try (final Stream<Item> items = this.fileService.list(root.isEmpty() ? null : root, bucket)) {
+            final Stream<Map.Entry<Path, Item>> changed = items
+                    .filter(item -> isFile(item) && item.objectName().length() > root.length())
+                    .map(item -> Map.entry(target.resolve(item.objectName().substring(root.length())).normalize(), item))
+                    .filter(entry -> {
+                        if (!entry.getKey().startsWith(target)) {
+                            progress.fail(new MinioObjectError(entry.getValue().objectName(), "InvalidPath", "The file is outside of the directory"));
+                            return false;
+                        }
+                        listed.add(entry.getKey());
+                        return true;
+                    });
+
+            this.transfer(changed::iterator, progress, entry -> {
+                final Path path = entry.getKey();
+                final Item item = entry.getValue();
+                if (this.isUnchanged(path, item, bucket, true)) {
+                    return UNCHANGED;
+                }
+                Files.createDirectories(path.getParent());
+                this.fileService.download(path.toString(), item.objectName(), bucket);
+                Files.setLastModifiedTime(path, FileTime.from(item.lastModified().toInstant()));
+                return Files.size(path);
+            }, entry -> entry.getValue().objectName());
+        }
+
+        long deleted = 0;
+        if (request.isDeleteExtraneous()) {
+            try (final Stream<Path> walk = Files.walk(target)) {
+                for (Path path : walk.filter(Files::isRegularFile).filter(path -> !listed.contains(path)).toList()) {
+                    try {
+                        Files.delete(path);
+                        deleted++;
+                    } catch (IOException ex) {
+                        progress.errors.add(MinioObjectError.of(path.toString(), ex));
+                    }
+                }
+            } catch (IOException | UncheckedIOException ex) {
+                throw new MinioRequestException("SyncDownload", ex);
+            }
+        }
+        return progress.result(deleted);
+    }
+
+    /**
+     * Transfer files in parallel, at most as many as the configured parallelism at once
+     *
+     * @param files:    the files to transfer
+     * @param progress: the {@link Progress} of the synchronization
+     * @param transfer: the {@link Transfer} of a file
+     * @param naming:   the function giving the filename of a file on the bucket
+     * @param <T>:      the type of the files
+     */
+    private <T> void transfer(Iterable<T> files, Progress progress, Transfer<T> transfer, Function<T, String> naming) {
+        final int parallelism = Math.max(1, this.configuration.getParallelism());
+        final Semaphore inFlight = new Semaphore(parallelism);
+        final AtomicInteger counter = new AtomicInteger();
+        final ExecutorService executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            final Thread thread = new Thread(runnable, THREAD_PREFIX + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try {
+            for (T file : files) {
+                inFlight.acquireUninterruptibly();
+                executor.execute(() -> {
+                    try {
+                        final long transferred = transfer.run(file);
+                        if (transferred == UNCHANGED) {
+                            progress.skip();
+                        } else {
+                            progress.transfer(transferred);
+                        }
+                    } catch (MinioRequestException ex) {
+                        progress.fail(MinioObjectError.of(naming.apply(file), ex.getCause() != null ? ex.getCause() : ex));
+                    } catch (Exception ex) {
+                        progress.fail(MinioObjectError.of(naming.apply(file), ex));
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        } finally {
+            executor.shutdown();
+            try {
+                executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException ex) {
+                executor.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Check whether a local file has the same content as a remote one. The files are different if their sizes differ,
+     * the same if the target is not older than the source, else their content digest is compared to the ETag. The
+     * size of a compressed remote file is the one recorded before its compression, and its ETag is not compared.
+     *
+     * @param path:     the local file
+     * @param item:     the remote file
+     * @param bucket:   the name of the bucket
+     * @param download: whether the remote file is the source or not
+     * @return a {@link Boolean}
+     */
+    private boolean isUnchanged(Path path, Item item, String bucket, boolean download) {
+        try {
+            if (!Files.isRegularFile(path)) {
+                return false;
+            }
+
+            // A file stored without compression has the same size, even in a compressed bucket
+            final long size = Files.size(path);
+            final boolean compressed = size != item.size() && this.compression != null && this.compression.isCompressed(bucket);
+            if (size != item.size() && (!compressed ||
+                    size != MinioCompression.getSize(this.fileService.getFileInformation(item.objectName(), bucket).userMetadata()))) {
+                return false;
+            }
+
+            final Instant local = Files.getLastModifiedTime(path).toInstant();
+            final Instant remote = item.lastModified().toInstant();
+            if (download ? local.getEpochSecond() == remote.getEpochSecond() : !local.isAfter(remote)) {
+                return true;
+            }
+
+            // The ETag of a multipart upload or of a compressed file is not the digest of the content
+            if (compressed) {
+                return false;
+            }
+            final String etag = item.etag() != null ? item.etag().replace("\"", "") : null;
+            if (etag == null || etag.contains("-") || !etag.equalsIgnoreCase(HexFormat.of().formatHex(md5(path)))) {
+                return false;
+            }
+            if (download) {
+                Files.setLastModifiedTime(path, FileTime.from(remote));
+            }
+            return true;
+        } catch (IOException ex) {
+            return false;
+        }
+    }
+
+    /**
+     * Compute the MD5 digest of a file, mapping it in memory region by region
+     *
+     * @param path: the path of the file
+     * @return the digest
+     * @throws IOException if the file cannot be read
+     */
+    private static byte[] md5(Path path) throws IOException {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("MD5 is not supported by the JVM", ex);
+        }
+
+        try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            for (long position = 0; position < size; position += MAPPED_REGION_SIZE) {
+                digest.update(channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(MAPPED_REGION_SIZE, size - position)));
+            }
+        }
+        return digest.digest();
+    }
+
+    /**
+     * Check whether a listed item is a file, neither a common prefix nor a folder marker
+     *
+     * @param item: the listed {@link Item}
+     * @return a {@link Boolean}
+     */
+    private static boolean isFile(Item item) {
+        return !item.isDir() && !item.objectName().endsWith(SEPARATOR);
+    }
+
+    /**
+     * Normalize a prefix so that it ends with a separator
+     *
+     * @param prefix: the prefix, null for the bucket root
+     * @return the normalized prefix, empty for the bucket root
+     */
+    private static String normalize(String prefix) {
+        if (prefix == null || prefix.isEmpty()) {
+            return "";
+        }
+        return prefix.endsWith(SEPARATOR) ? prefix : prefix + SEPARATOR;
+    }
+
+    /**
+     * The transfer of a file
+     *
+     * @param <T>: the type of the files
+     */
+    @FunctionalInterface
+    private interface Transfer<T> {
+        /**
+         * Transfer a file
+         *
+         * @param file: the file
+         * @return the number of transferred bytes
+         * @throws Exception if the transfer fail
+         */
+        long run(T file) throws Exception;
+    }
+
+    /**
+     * The progress of a synchronization, reported at most once per progress interval
+     */
+    private class Progress {
+        private final MinioSyncRequest request;
+        private final long start = System.nanoTime();
+        private final AtomicLong lastReport = new AtomicLong(this.start);
+        private final LongAdder transferredFiles = new LongAdder();
+        private final LongAdder transferredBytes = new LongAdder();
+        private final LongAdder skippedFiles = new LongAdder();
+        private final ConcurrentLinkedQueue<MinioObjectError> errors = new ConcurrentLinkedQueue<>();
+
+        /**
+         * Constructor
+         *
+         * @param request: the {@link MinioSyncRequest} options
+         */
+        Progress(MinioSyncRequest request) {
+            this.request = request;
+        }
+
+        /**
+         * Count a transferred file
+         *
+         * @param bytes: the size of the file
+         */
+        void transfer(long bytes) {
+            this.transferredFiles.increment();
+            this.transferredBytes.add(bytes);
+            this.report();
+        }
+
+        /**
+         * Count an unchanged file
+         */
+        void skip() {
+            this.skippedFiles.increment();
+            this.report();
+        }
+
+        /**
+         * Count a file which could not be transferred
+         *
+         * @param error: the {@link MinioObjectError} of the file
+         */
+        void fail(MinioObjectError error) {
+            this.errors.add(error);
+            this.report();
+        }
+
+        /**
+         * Get the current progress
+         *
+         * @return the {@link MinioSyncProgress}
+         */
+        MinioSyncProgress snapshot() {
+            return new MinioSyncProgress(this.transferredFiles.sum(), this.transferredBytes.sum(), this.skippedFiles.sum(),
+                    this.errors.size(), Duration.ofNanos(System.nanoTime() - this.start));
+        }
+
+        /**
+         * Report the progress if the last report is older than the progress interval
+         */
+        void report() {
+            final long now = System.nanoTime();
+            final long last = this.lastReport.get();
+            if (this.request.getProgressListener() != null &&
+                    now - last >= MinioDirectorySync.this.configuration.getProgressInterval().toNanos() &&
+                    this.lastReport.compareAndSet(last, now)) {
+                this.request.getProgressListener().accept(this.snapshot());
+            }
+        }
+
+        /**
+         * Complete the synchronization, reporting its final progress
+         *
+         * @param deletedFiles: the number of deleted extraneous files
+         * @return the {@link MinioSyncResult}
+         */
+        MinioSyncResult result(long deletedFiles) {
+            final MinioSyncProgress progress = this.snapshot();
+            if (this.request.getProgressListener() != null) {
+                this.request.getProgressListener().accept(progress);
+            }
+            log.debug("Synchronized {} files ({} bytes, {} unchanged, {} failed) in {}", progress.transferredFiles(),
+                    progress.transferredBytes(), progress.skippedFiles(), progress.failedFiles(), progress.elapsed());
+            return new MinioSyncResult(progress, deletedFiles, new ArrayList<>(this.errors));
+        }
+    }
+}
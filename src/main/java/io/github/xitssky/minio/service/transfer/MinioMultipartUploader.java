@@ -0,0 +1,191 @@
+package io.github.xitssky.minio.service.transfer;
+
+import io.github.xitssky.minio.client.MinioExtendedClient;
+import io.github.xitssky.minio.configuration.properties.MinioUpload;
+import io.github.xitssky.minio.exception.MinioRequestException;
+import io.github.xitssky.minio.exception.utils.LambdaExceptionUtils;
+import io.github.xitssky.minio.executor.MinioTaskExecutor;
+import io.minio.ObjectWriteResponse;
+import io.minio.messages.Part;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The engine uploading an object in parts sent in parallel
+ *
+ * @author quentin
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class MinioMultipartUploader {
+    private static final int MAX_PARTS = 10_000;
+    private static final long RETRY_DELAY_MILLIS = 200;
+
+    private final MinioExtendedClient client;
+    private final MinioTaskExecutor executor;
+    private final MinioUpload configuration;
+
+    /**
+     * Get the part size used for an object
+     *
+     * @param objectSize: the size of the object, or -1 if unknown
+     * @return the part size in bytes
+     */
+    public long getPartSize(long objectSize) {
+        final long partSize = this.configuration.getPartSize().toBytes();
+        // Grow the parts when the object would not fit in the maximum number of parts
+        return objectSize < 0 ? partSize : Math.max(partSize, (objectSize + MAX_PARTS - 1) / MAX_PARTS);
+    }
+
+    /**
+     * Upload a stream in parts sent in parallel. At most {@link MinioUpload#getParallelism()} parts are held in memory
+     * at a time. The failing parts are retried, and the upload is aborted if one of them keeps failing.
+     *
+     * @param stream:      the {@link InputStream} to upload, it is not closed
+     * @param objectSize:  the size of the object, or -1 if unknown
+     * @param filename:    the name of the object
+     * @param bucket:      the name of the bucket
+     * @param metadata:    the optional user metadata of the object
+     * @param contentType: the content type of the object
+     * @return the {@link ObjectWriteResponse}
+     * @throws MinioRequestException if the upload fail
+     */
+    public ObjectWriteResponse upload(InputStream stream, long objectSize, String filename, String bucket, Map<String, String> metadata,
+                                      String contentType) throws MinioRequestException {
+        final int partSize = Math.toIntExact(this.getPartSize(objectSize));
+
+        final String uploadId;
+        try {
+            uploadId = this.client.createMultipartUpload(bucket, filename, metadata, contentType).get();
+        } catch (Exception ex) {
+            throw new MinioRequestException("CreateMultipartUpload", LambdaExceptionUtils.unwrap(ex));
+        }
+
+        try {
+            final Part[] parts = this.uploadParts(stream, partSize, filename, bucket, uploadId);
+            return this.client.completeMultipartUpload(bucket, filename, uploadId, parts).get();
+        } catch (Exception ex) {
+            this.abort(bucket, filename, uploadId);
+            throw new MinioRequestException("MultipartUpload", LambdaExceptionUtils.unwrap(ex));
+        }
+    }
+
+    /**
+     * Read the stream part by part and upload the parts in parallel
+     *
+     * @param stream:   the {@link InputStream} to upload
+     * @param partSize: the size of a part
+     * @param filename: the name of the object
+     * @param bucket:   the name of the bucket
+     * @param uploadId: the id of the multipart upload
+     * @return the uploaded {@link Part}, ordered by part number
+     * @throws Exception if the stream cannot be read or a part cannot be uploaded
+     */
+    private Part[] uploadParts(InputStream stream, int partSize, String filename, String bucket, String uploadId) throws Exception {
+        final Semaphore inFlight = new Semaphore(this.configuration.getParallelism());
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final List<CompletableFuture<Part>> futures = new ArrayList<>();
+
+        try {
+            for (int partNumber = 1; failure.get() == null; partNumber++) {
+                inFlight.acquire();
+                final byte[] buffer = new byte[partSize];
+                final int length = stream.readNBytes(buffer, 0, partSize);
+
+                // The stream ended exactly on a part boundary
+                if (length == 0 && partNumber > 1) {
+                    inFlight.release();
+                    break;
+                }
+                if (partNumber > MAX_PARTS) {
+                    inFlight.release();
+                    throw new IOException("The object exceeds " + MAX_PARTS + " parts, increase the part size");
+                }
+
+                final int number = partNumber;
+                futures.add(this.executor.submit(() -> this.uploadPart(bucket, filename, uploadId, number, buffer, length, failure))
+                        .whenComplete((part, ex) -> {
+                            if (ex != null) {
+                                failure.compareAndSet(null, ex);
+                            }
+                            inFlight.release();
+                        }));
+
+                if (length < partSize) {
+                    break;
+                }
+            }
+        } catch (Exception ex) {
+            if (ex instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            failure.compareAndSet(null, ex);
+        }
+
+        // Wait for the parts already sent, even on failure, so that the abort releases all of them
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).exceptionally(ex -> null).join();
+        if (failure.get() != null) {
+            throw new ExecutionException(failure.get());
+        }
+
+        return futures.stream()
+                .map(CompletableFuture::join)
+                .sorted(Comparator.comparingInt(Part::partNumber))
+                .toArray(Part[]::new);
+    }
+
+    /**
+     * Upload a part, retrying it when it fails
+     *
+     * @param bucket:     the name of the bucket
+     * @param filename:   the name of the object
+     * @param uploadId:   the id of the multipart upload
+     * @param partNumber: the number of the part
+     * @param buffer:     the buffer holding the part
+     * @param length:     the length of the part
+     * @param failure:    the failure of the upload, set when another part failed
+     * @return the uploaded {@link Part}
+     * @throws Exception if the part still fails after all the retries
+     */
+    private Part uploadPart(String bucket, String filename, String uploadId, int partNumber, byte[] buffer, int length,
+                            AtomicReference<Throwable> failure) throws Exception {
+        for (int attempt = 0; ; attempt++) {
+            try {
+                return this.client.uploadPart(bucket, filename, uploadId, partNumber, buffer, length).get();
+            } catch (ExecutionException ex) {
+                if (attempt >= this.configuration.getPartRetries() || failure.get() != null) {
+                    throw ex;
+                }
+                log.debug("Fail to upload part {} of {}/{}, retrying", partNumber, bucket, filename, ex.getCause());
+                Thread.sleep(RETRY_DELAY_MILLIS * (attempt + 1));
+            }
+        }
+    }
+
+    /**
+     * Abort a multipart upload, the failure of the abort is only logged
+     *
+     * @param bucket:   the name of the bucket
+     * @param filename: the name of the object
+     * @param uploadId: the id of the multipart upload
+     */
+    private void abort(String bucket, String filename, String uploadId) {
+        try {
+            // Not interruptible so that an interrupted upload is still aborted
+            this.client.abortMultipartUpload(bucket, filename, uploadId).join();
+        } catch (Exception ex) {
+            log.warn("Fail to abort multipart upload {} of {}/{}", uploadId, bucket, filename, ex);
+        }
+    }
+}
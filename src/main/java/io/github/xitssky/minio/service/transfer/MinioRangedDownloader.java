@@ -0,0 +1,213 @@
+package io.github.xitssky.minio.service.transfer;
+
+import io.github.xitssky.minio.configuration.properties.MinioDownload;
+import io.github.xitssky.minio.exception.MinioRequestException;
+import io.github.xitssky.minio.exception.utils.LambdaExceptionUtils;
+import io.github.xitssky.minio.executor.MinioTaskExecutor;
+import io.github.xitssky.minio.service.retry.MinioRetryPolicy;
+import io.minio.GetObjectArgs;
+import io.minio.MinioClient;
+import io.minio.StatObjectArgs;
+import io.minio.StatObjectResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The engine downloading an object by byte ranges fetched in parallel
+ *
+ * @author quentin
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class MinioRangedDownloader {
+    private static final String TEMPORARY_SUFFIX = ".part";
+
+    private final MinioClient client;
+    private final MinioTaskExecutor executor;
+    private final MinioDownload configuration;
+
+    /**
+     * The retry policy of the requests, null to send them only once
+     */
+    private final MinioRetryPolicy retryPolicy;
+
+    /**
+     * Get the object information used to plan a download
+     *
+     * @param filename: the name of the object
+     * @param bucket:   the name of the bucket
+     * @return the {@link StatObjectResponse}
+     * @throws MinioRequestException if the information request fail
+     */
+    public StatObjectResponse stat(String filename, String bucket) throws MinioRequestException {
+        try {
+            return this.retry(() -> this.client.statObject(StatObjectArgs.builder()
+                    .bucket(bucket)
+                    .object(filename)
+                    .build()));
+        } catch (Exception ex) {
+            throw new MinioRequestException("GetFileInformation", ex);
+        }
+    }
+
+    /**
+     * Check whether an object is big enough to be downloaded by ranges
+     *
+     * @param information: the {@link StatObjectResponse} of the object
+     * @return a {@link Boolean}
+     */
+    public boolean isRanged(StatObjectResponse information) {
+        return information.size() > this.configuration.getPartSize().toBytes();
+    }
+
+    /**
+     * Download an object into a temporary sibling file pre-allocated to its size, moved to its path once complete. The
+     * ranges are fetched in parallel and written at their offset, then the file is synced once. Every range is
+     * requested with the ETag of the object, so the download fails if the object changes in the meantime.
+     *
+     * @param path:        the path of the file to create
+     * @param filename:    the name of the object
+     * @param bucket:      the name of the bucket
+     * @param information: the {@link StatObjectResponse} of the object
+     * @return the {@link File}
+     * @throws MinioRequestException if the download fail, the file at the path is then left untouched
+     */
+    public File download(String path, String filename, String bucket, StatObjectResponse information) throws MinioRequestException {
+        final File file = new File(path);
+        final File temporary = new File(file.getAbsoluteFile().getParentFile(), file.getName() + "." + UUID.randomUUID() + TEMPORARY_SUFFIX);
+        final long size = information.size();
+        final long partSize = this.configuration.getPartSize().toBytes();
+
+        try (final RandomAccessFile randomAccessFile = new RandomAccessFile(temporary, "rw")) {
+            randomAccessFile.setLength(size);
+            final FileChannel channel = randomAccessFile.getChannel();
+
+            final Semaphore inFlight = new Semaphore(this.configuration.getParallelism());
+            final AtomicReference<Throwable> failure = new AtomicReference<>();
+            final List<CompletableFuture<Long>> futures = new ArrayList<>();
+
+            for (long offset = 0; offset < size && failure.get() == null; offset += partSize) {
+                inFlight.acquire();
+                final long rangeOffset = offset;
+                final long rangeLength = Math.min(partSize, size - offset);
+                futures.add(this.executor.submit(() -> this.retry(() -> this.downloadRange(channel, filename, bucket, information, rangeOffset, rangeLength)))
+                        .whenComplete((written, ex) -> {
+                            if (ex != null) {
+                                failure.compareAndSet(null, ex);
+                            }
+                            inFlight.release();
+                        }));
+            }
+
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).exceptionally(ex -> null).join();
+            if (failure.get() != null) {
+                throw new ExecutionException(failure.get());
+            }
+
+            // The file is pre-allocated, so only the written bytes tell whether it is complete
+            long written = 0;
+            for (CompletableFuture<Long> future : futures) {
+                written += future.join();
+            }
+            if (written != size) {
+                throw new IOException("Downloaded " + written + " bytes instead of " + size);
+            }
+
+            channel.force(true);
+        } catch (Exception ex) {
+            if (ex instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            this.delete(temporary);
+            throw new MinioRequestException("Download", LambdaExceptionUtils.unwrap(ex));
+        }
+
+        try {
+            Files.move(temporary.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return file;
+        } catch (IOException ex) {
+            this.delete(temporary);
+            throw new MinioRequestException("Download", LambdaExceptionUtils.unwrap(ex));
+        }
+    }
+
+    /**
+     * Download a range of an object and write it at its offset in the file
+     *
+     * @param channel:     the {@link FileChannel} of the file
+     * @param filename:    the name of the object
+     * @param bucket:      the name of the bucket
+     * @param information: the {@link StatObjectResponse} of the object
+     * @param offset:      the offset of the range
+     * @param length:      the length of the range
+     * @return the number of bytes written
+     * @throws Exception if the range cannot be downloaded or written
+     */
+    private long downloadRange(FileChannel channel, String filename, String bucket, StatObjectResponse information,
+                               long offset, long length) throws Exception {
+        try (final InputStream stream = this.client.getObject(GetObjectArgs.builder()
+                .bucket(bucket)
+                .object(filename)
+                .versionId(information.versionId())
+                .matchETag(information.etag())
+                .offset(offset)
+                .length(length)
+                .build());
+             final ReadableByteChannel source = Channels.newChannel(stream)) {
+            long written = 0;
+            while (written < length) {
+                // Positional transfer, the channel is shared between the ranges
+                final long transferred = channel.transferFrom(source, offset + written, length - written);
+                if (transferred <= 0) {
+                    throw new IOException("Range " + offset + "-" + (offset + length - 1) + " ended after " + written + " bytes");
+                }
+                written += transferred;
+            }
+            return written;
+        }
+    }
+
+    /**
+     * Send a request with the {@link MinioRetryPolicy}, or only once if there is none. A range is rewritten as a whole
+     * when it is retried.
+     *
+     * @param request: the {@link Callable} sending the request
+     * @param <T>:     the result type of the request
+     * @return the result of the request
+     * @throws Exception if the request fail
+     */
+    private <T> T retry(Callable<T> request) throws Exception {
+        return this.retryPolicy != null ? this.retryPolicy.execute(request) : request.call();
+    }
+
+    /**
+     * Delete a partially downloaded file, the failure of the deletion is only logged
+     *
+     * @param file: the {@link File} to delete
+     */
+    private void delete(File file) {
+        try {
+            Files.deleteIfExists(file.toPath());
+        } catch (IOException ex) {
+            log.warn("Fail to delete the partially downloaded file {}", file, ex);
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package io.github.xitssky.minio.service.spool;
+
+import io.github.xitssky.minio.configuration.properties.MinioSpool;
+import io.github.xitssky.minio.exception.MinioRequestException;
+import io.github.xitssky.minio.service.MinioFileService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.stubbing.Answer;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * The tests of the {@link MinioUploadSpool}, sending the uploads to a stub {@link MinioFileService}
+ *
+ * @author quentin
+ */
+class MinioUploadSpoolTest {
+    private static final long TIMEOUT_SECONDS = 10;
+
+    @TempDir
+    Path directory;
+
+    /**
+     * The uploads received by the stub, as "bucket/filename=content"
+     */
+    private final List<String> uploads = new CopyOnWriteArrayList<>();
+
+    @Test
+    void waitingUploadsOfAFileAreSupersededByTheLastOne() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final MinioFileService fileService = this.fileService(content -> {
+            started.countDown();
+            release.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        });
+
+        try (final MinioUploadSpool spool = new MinioUploadSpool(fileService, this.configuration())) {
+            final CompletableFuture<Void> first = this.enqueue(spool, "v1", "file");
+            assertThat(started.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isTrue();
+            final CompletableFuture<Void> second = this.enqueue(spool, "v2", "file");
+            final CompletableFuture<Void> third = this.enqueue(spool, "v3", "file");
+            release.countDown();
+
+            CompletableFuture.allOf(first, second, third).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            assertThat(this.uploads).containsExactly("bucket/file=v1", "bucket/file=v3");
+            assertThat(spool.getPendingCount()).isZero();
+            assertThat(spool.getSpooledBytes()).isZero();
+        }
+        assertThat(this.spooledFiles()).isEmpty();
+    }
+
+    @Test
+    void pendingUploadsAreReplayedInOrderOnRestart() throws Exception {
+        final CountDownLatch attempted = new CountDownLatch(2);
+        final MinioFileService unavailable = this.fileService(content -> {
+            attempted.countDown();
+            throw new MinioRequestException("uploadFile", new IllegalStateException("Minio is down"));
+        });
+        final MinioSpool configuration = this.configuration();
+        configuration.setRetryDelay(Duration.ofMinutes(1));
+
+        final CompletableFuture<Void> pending;
+        try (final MinioUploadSpool spool = new MinioUploadSpool(unavailable, configuration)) {
+            this.enqueue(spool, "v1", "file");
+            this.enqueue(spool, "other", "other");
+            assertThat(attempted.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isTrue();
+            pending = this.enqueue(spool, "v2", "file");
+        }
+        assertThatThrownBy(pending::join).hasCauseInstanceOf(MinioRequestException.class);
+        this.uploads.clear();
+
+        try (final MinioUploadSpool spool = new MinioUploadSpool(this.fileService(content -> { }), configuration)) {
+            final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+            while (spool.getPendingCount() > 0 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertThat(spool.getPendingCount()).isZero();
+        }
+        assertThat(this.uploads).containsExactlyInAnyOrder("bucket/file=v1", "bucket/file=v2", "bucket/other=other");
+        assertThat(this.uploads.stream().filter(upload -> upload.startsWith("bucket/file="))).containsExactly("bucket/file=v1", "bucket/file=v2");
+        assertThat(this.spooledFiles()).isEmpty();
+    }
+
+    @Test
+    void uploadFailingWithAnErrorIsSettled() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final MinioFileService fileService = this.fileService(content -> {
+            if (content.equals("v1")) {
+                started.countDown();
+                release.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                throw new AssertionError("Upload failure");
+            }
+        });
+
+        try (final MinioUploadSpool spool = new MinioUploadSpool(fileService, this.configuration())) {
+            final CompletableFuture<Void> first = this.enqueue(spool, "v1", "file");
+            assertThat(started.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isTrue();
+            final CompletableFuture<Void> second = this.enqueue(spool, "v2", "file");
+            release.countDown();
+
+            assertThatThrownBy(() -> first.get(TIMEOUT_SECONDS, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .cause()
+                    .isInstanceOf(MinioRequestException.class)
+                    .hasCauseInstanceOf(AssertionError.class);
+            second.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            assertThat(this.uploads).containsExactly("bucket/file=v2");
+            assertThat(spool.getPendingCount()).isZero();
+        }
+        assertThat(this.spooledFiles()).isEmpty();
+        try (final var failed = Files.list(this.directory.resolve("failed"))) {
+            assertThat(failed).hasSize(2);
+        }
+    }
+
+    /**
+     * Get the configuration of a spool in the temporary directory, retrying quickly
+     *
+     * @return the {@link MinioSpool} configuration
+     */
+    private MinioSpool configuration() {
+        final MinioSpool configuration = new MinioSpool();
+        configuration.setEnabled(true);
+        configuration.setDirectory(this.directory);
+        configuration.setRetryDelay(Duration.ofMillis(10));
+        return configuration;
+    }
+
+    /**
+     * Build a stub {@link MinioFileService} recording the uploaded files once the behaviour succeeds
+     *
+     * @param behaviour: the {@link Upload} behaviour, receiving the uploaded content
+     * @return the {@link MinioFileService}
+     */
+    private MinioFileService fileService(Upload behaviour) {
+        final MinioFileService fileService = mock(MinioFileService.class);
+        doAnswer((Answer<Void>) invocation -> {
+            final File file = invocation.getArgument(0);
+            final String content = Files.readString(file.toPath());
+            behaviour.accept(content);
+            this.uploads.add(invocation.getArgument(2) + "/" + invocation.getArgument(1) + "=" + content);
+            return null;
+        }).when(fileService).upload(any(File.class), anyString(), anyString(), any());
+        return fileService;
+    }
+
+    /**
+     * Accept an upload to the test bucket
+     *
+     * @param spool:    the {@link MinioUploadSpool}
+     * @param content:  the content to upload
+     * @param filename: the name of the file
+     * @return the {@link CompletableFuture} of the upload
+     */
+    private CompletableFuture<Void> enqueue(MinioUploadSpool spool, String content, String filename) {
+        return spool.enqueue(content.getBytes(StandardCharsets.UTF_8), filename, "bucket", null);
+    }
+
+    /**
+     * Get the files left in the spool directory, outside of the failed directory
+     *
+     * @return the names of the files
+     * @throws Exception if the directory cannot be listed
+     */
+    private List<String> spooledFiles() throws Exception {
+        try (final var listing = Files.list(this.directory)) {
+            return listing.filter(Files::isRegularFile).map(path -> path.getFileName().toString()).toList();
+        }
+    }
+
+    /**
+     * The behaviour of the stub upload
+     */
+    @FunctionalInterface
+    private interface Upload {
+        /**
+         * Receive an uploaded content
+         *
+         * @param content: the uploaded content
+         * @throws Exception the failure of the upload
+         */
+        void accept(String content) throws Exception;
+    }
+}
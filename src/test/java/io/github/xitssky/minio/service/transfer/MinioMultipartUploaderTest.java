@@ -0,0 +1,141 @@
+package io.github.xitssky.minio.service.transfer;
+
+import io.github.xitssky.minio.client.MinioExtendedClient;
+import io.github.xitssky.minio.configuration.properties.MinioUpload;
+import io.github.xitssky.minio.exception.MinioRequestException;
+import io.github.xitssky.minio.executor.MinioTaskExecutor;
+import io.minio.MinioAsyncClient;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The tests of the {@link MinioMultipartUploader}, against a stub S3 server
+ *
+ * @author quentin
+ */
+class MinioMultipartUploaderTest {
+    private static final String UPLOAD_ID = "upload-id";
+    private static final byte[] CONTENT = "0123456789".getBytes(StandardCharsets.UTF_8);
+
+    private final List<RecordedRequest> requests = new CopyOnWriteArrayList<>();
+    private MockWebServer server;
+    private MinioTaskExecutor executor;
+    private MinioMultipartUploader uploader;
+    private volatile boolean failingParts;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        this.server = new MockWebServer();
+        this.server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                requests.add(request);
+                return respond(request);
+            }
+        });
+        this.server.start();
+
+        final MinioUpload configuration = new MinioUpload();
+        configuration.setPartSize(DataSize.ofBytes(4));
+        configuration.setPartRetries(1);
+        this.executor = new MinioTaskExecutor(2);
+        this.uploader = new MinioMultipartUploader(new MinioExtendedClient(MinioAsyncClient.builder()
+                .endpoint(this.server.url("/").toString())
+                .credentials("access", "secret")
+                .region("us-east-1")
+                .build()), this.executor, configuration);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        this.executor.close();
+        this.server.shutdown();
+    }
+
+    @Test
+    void uploadSendsThePartsInOrderWithTheContentType() {
+        this.uploader.upload(new ByteArrayInputStream(CONTENT), CONTENT.length, "file.txt", "bucket", Map.of("owner", "me"), "text/plain");
+
+        final RecordedRequest creation = this.requests.get(0);
+        assertThat(creation.getMethod()).isEqualTo("POST");
+        assertThat(creation.getHeader("Content-Type")).isEqualTo("text/plain");
+        assertThat(creation.getHeader("x-amz-meta-owner")).isEqualTo("me");
+
+        assertThat(this.requests.stream().filter(request -> request.getMethod().equals("PUT")))
+                .extracting(request -> request.getRequestUrl().queryParameter("partNumber"))
+                .containsExactlyInAnyOrder("1", "2", "3");
+
+        final RecordedRequest completion = this.requests.get(this.requests.size() - 1);
+        assertThat(completion.getMethod()).isEqualTo("POST");
+        assertThat(completion.getBody().readUtf8())
+                .containsSubsequence("<PartNumber>1</PartNumber>", "<PartNumber>2</PartNumber>", "<PartNumber>3</PartNumber>");
+    }
+
+    @Test
+    void uploadIsAbortedWhenAPartKeepsFailing() {
+        this.failingParts = true;
+
+        assertThatThrownBy(() -> this.uploader.upload(new ByteArrayInputStream(CONTENT), CONTENT.length, "file.txt", "bucket", null,
+                "application/octet-stream"))
+                .isInstanceOf(MinioRequestException.class);
+
+        final RecordedRequest abort = this.requests.get(this.requests.size() - 1);
+        assertThat(abort.getMethod()).isEqualTo("DELETE");
+        assertThat(abort.getRequestUrl().queryParameter("uploadId")).isEqualTo(UPLOAD_ID);
+        assertThat(this.requests).noneMatch(request -> request.getMethod().equals("POST")
+                && request.getRequestUrl().queryParameter("uploadId") != null);
+    }
+
+    /**
+     * Answer a request of the multipart upload
+     *
+     * @param request: the {@link RecordedRequest}
+     * @return the {@link MockResponse}
+     */
+    private MockResponse respond(RecordedRequest request) {
+        final String method = request.getMethod();
+        if ("POST".equals(method) && request.getRequestUrl().queryParameter("uploads") != null) {
+            return xml("<InitiateMultipartUploadResult><Bucket>bucket</Bucket><Key>file.txt</Key><UploadId>" + UPLOAD_ID
+                    + "</UploadId></InitiateMultipartUploadResult>");
+        }
+        if ("PUT".equals(method)) {
+            return this.failingParts ?
+                    xml("<Error><Code>InternalError</Code><Message>Part failure</Message></Error>").setResponseCode(500) :
+                    new MockResponse().setHeader("ETag", "\"part-" + request.getRequestUrl().queryParameter("partNumber") + "\"");
+        }
+        if ("POST".equals(method)) {
+            return xml("<CompleteMultipartUploadResult><Location>/bucket/file.txt</Location><Bucket>bucket</Bucket>"
+                    + "<Key>file.txt</Key><ETag>\"etag\"</ETag></CompleteMultipartUploadResult>");
+        }
+        if ("DELETE".equals(method)) {
+            return new MockResponse().setResponseCode(204);
+        }
+        return new MockResponse().setResponseCode(400);
+    }
+
+    /**
+     * Build a XML response
+     *
+     * @param body: the XML body
+     * @return the {@link MockResponse}
+     */
+    private static MockResponse xml(String body) {
+        return new MockResponse().setHeader("Content-Type", "application/xml").setBody(body);
+    }
+}
@@ -0,0 +1,135 @@
+package io.github.xitssky.minio.service.transfer;
+
+import io.github.xitssky.minio.configuration.properties.MinioDownload;
+import io.github.xitssky.minio.exception.MinioRequestException;
+import io.github.xitssky.minio.executor.MinioTaskExecutor;
+import io.minio.MinioClient;
+import io.minio.StatObjectResponse;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The tests of the {@link MinioRangedDownloader}, against a stub S3 server
+ *
+ * @author quentin
+ */
+class MinioRangedDownloaderTest {
+    private static final String ETAG = "\"etag\"";
+    private static final byte[] CONTENT = "0123456789".getBytes(StandardCharsets.UTF_8);
+    private static final Pattern RANGE = Pattern.compile("bytes=(\\d+)-(\\d+)");
+
+    @TempDir
+    Path directory;
+
+    private final List<RecordedRequest> requests = new CopyOnWriteArrayList<>();
+    private MockWebServer server;
+    private MinioTaskExecutor executor;
+    private MinioRangedDownloader downloader;
+    private volatile boolean truncatedRanges;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        this.server = new MockWebServer();
+        this.server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                requests.add(request);
+                return respond(request);
+            }
+        });
+        this.server.start();
+
+        final MinioDownload configuration = new MinioDownload();
+        configuration.setPartSize(DataSize.ofBytes(4));
+        configuration.setParallelism(2);
+        this.executor = new MinioTaskExecutor(2);
+        this.downloader = new MinioRangedDownloader(MinioClient.builder()
+                .endpoint(this.server.url("/").toString())
+                .credentials("access", "secret")
+                .region("us-east-1")
+                .build(), this.executor, configuration, null);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        this.executor.close();
+        this.server.shutdown();
+    }
+
+    @Test
+    void downloadWritesTheRangesPinnedToTheETag() throws IOException {
+        final StatObjectResponse information = this.downloader.stat("file.txt", "bucket");
+        assertThat(this.downloader.isRanged(information)).isTrue();
+
+        final File file = this.downloader.download(this.directory.resolve("file.txt").toString(), "file.txt", "bucket", information);
+
+        assertThat(Files.readAllBytes(file.toPath())).isEqualTo(CONTENT);
+        assertThat(this.requests.stream().filter(request -> request.getMethod().equals("GET")))
+                .hasSize(3)
+                .allMatch(request -> information.etag().equals(request.getHeader("If-Match")));
+        assertThat(this.directory).isDirectoryNotContaining("glob:**.part");
+    }
+
+    @Test
+    void downloadFailsWhenTheRangesAreShorterThanTheObject() throws IOException {
+        this.truncatedRanges = true;
+        final Path path = this.directory.resolve("file.txt");
+        Files.writeString(path, "previous");
+        final StatObjectResponse information = this.downloader.stat("file.txt", "bucket");
+
+        assertThatThrownBy(() -> this.downloader.download(path.toString(), "file.txt", "bucket", information))
+                .isInstanceOf(MinioRequestException.class);
+
+        assertThat(path).hasContent("previous");
+        assertThat(this.directory).isDirectoryNotContaining("glob:**.part");
+    }
+
+    /**
+     * Answer a stat or a ranged GET of the object
+     *
+     * @param request: the {@link RecordedRequest}
+     * @return the {@link MockResponse}
+     */
+    private MockResponse respond(RecordedRequest request) {
+        if ("HEAD".equals(request.getMethod())) {
+            return new MockResponse()
+                    .setHeader("Content-Length", CONTENT.length)
+                    .setHeader("ETag", ETAG)
+                    .setHeader("Last-Modified", "Mon, 05 Oct 2026 10:00:00 GMT");
+        }
+
+        final Matcher range = RANGE.matcher(String.valueOf(request.getHeader("Range")));
+        if (!"GET".equals(request.getMethod()) || !range.matches()) {
+            return new MockResponse().setResponseCode(400);
+        }
+        final int start = Integer.parseInt(range.group(1));
+        final int end = Math.min(Integer.parseInt(range.group(2)) + 1, CONTENT.length);
+        // A truncated range ends cleanly, only the written size tells it is incomplete
+        final int length = this.truncatedRanges ? Math.max(1, (end - start) / 2) : end - start;
+        return new MockResponse()
+                .setResponseCode(206)
+                .setHeader("ETag", ETAG)
+                .setBody(new Buffer().write(CONTENT, start, length));
+    }
+}